@@ -1,13 +1,114 @@
 package application;
 
+import java.io.File;
+import java.io.IOException;
+
 import entities.Chatbot;
+import entities.MotorChatbot;
+import entities.ProcessadorLote;
+import entities.ServidorChat;
+import entities.ServidorHttp;
 
 public class Program {
 
+	/**
+	 * Inicia o chatbot.
+	 *
+	 * Sem argumentos, conversa pelo console. Com {@code --servidor [porta]},
+	 * atende conversas por conexões TCP e, com {@code --http [porta]}, atende a
+	 * API HTTP. Com {@code --lote entrada saida [semente]}, responde um arquivo de
+	 * mensagens e encerra.
+	 *
+	 * @param args argumentos da linha de comando
+	 */
 	public static void main(String[] args) {
-		// TODO Auto-generated method stub
+		if (args.length > 0 && args[0].equals("--servidor")) {
+			iniciarServidor(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--http")) {
+			iniciarHttp(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--lote")) {
+			processarLote(args);
+			return;
+		}
+
 		Chatbot chat = new Chatbot();
 		chat.init();
 	}
 
+	private static void iniciarServidor(String[] args) {
+		int porta = lerPorta(args, ServidorChat.PORTA_PADRAO);
+		if (porta < 0) {
+			return;
+		}
+
+		try (ServidorChat servidor = new ServidorChat(new MotorChatbot(), porta)) {
+			servidor.executar();
+		} catch (IOException e) {
+			System.out.println("Erro no servidor: " + e.getMessage());
+		}
+	}
+
+	private static void iniciarHttp(String[] args) {
+		int porta = lerPorta(args, ServidorHttp.PORTA_PADRAO);
+		if (porta < 0) {
+			return;
+		}
+
+		try {
+			// O servidor segue atendendo em suas próprias threads
+			new ServidorHttp(new MotorChatbot(), porta).iniciar();
+		} catch (IOException e) {
+			System.out.println("Erro no servidor: " + e.getMessage());
+		}
+	}
+
+	private static void processarLote(String[] args) {
+		if (args.length < 3) {
+			System.out.println("Uso: --lote <entrada> <saida> [semente]");
+			return;
+		}
+		long semente = 0;
+		try {
+			if (args.length > 3) {
+				semente = Long.parseLong(args[3]);
+			}
+		} catch (NumberFormatException e) {
+			System.out.println("Semente inválida: " + args[3]);
+			return;
+		}
+
+		MotorChatbot motor = new MotorChatbot();
+		long inicio = System.nanoTime();
+		try {
+			long linhas = new ProcessadorLote(motor, semente).processar(new File(args[1]), new File(args[2]));
+			System.out.printf("Chatbot: %d mensagem(ns) respondida(s) em %d ms%n", linhas,
+					(System.nanoTime() - inicio) / 1_000_000);
+		} catch (IOException e) {
+			System.out.println("Erro no lote: " + e.getMessage());
+		} finally {
+			motor.encerrar();
+		}
+	}
+
+	/**
+	 * Porta informada após o modo, ou a porta padrão.
+	 *
+	 * @return porta ou -1 quando inválida
+	 */
+	private static int lerPorta(String[] args, int padrao) {
+		if (args.length < 2) {
+			return padrao;
+		}
+		try {
+			return Integer.parseInt(args[1]);
+		} catch (NumberFormatException e) {
+			System.out.println("Porta inválida: " + args[1]);
+			return -1;
+		}
+	}
+
 }
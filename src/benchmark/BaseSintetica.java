@@ -0,0 +1,185 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Conhecimento e mensagens sintéticos para os benchmarks.
+ *
+ * As palavras-chave são palavras inventadas a partir de sílabas, sem acentos e
+ * sem repetição, com uma a três respostas cada. As mensagens misturam
+ * palavras-chave conhecidas, stop words, palavras desconhecidas, acentos e
+ * pontuação, como as mensagens reais antes da normalização. Com a mesma
+ * semente, o resultado é sempre o mesmo.
+ */
+public class BaseSintetica {
+	private static final String[] SILABAS = { "ba", "be", "bi", "bo", "ca", "ce", "ci", "co", "da", "de", "di", "du",
+			"fa", "fe", "fi", "ga", "go", "la", "le", "li", "lo", "ma", "me", "mi", "mo", "na", "ne", "ni", "no", "pa",
+			"pe", "pi", "po", "ra", "re", "ri", "ro", "sa", "se", "si", "so", "ta", "te", "ti", "to", "va", "ve", "vi" };
+	private static final String[] LIGACOES = { "o", "a", "de", "do", "que", "para", "com", "é", "me", "um" };
+	private static final String[] ENFEITES = { "", "?", "!", "...", ",", " né?" };
+
+	private final List<String> palavrasChave;
+	private final Map<String, List<String>> conhecimento;
+	private final long semente;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param tamanho - quantidade de palavras-chave
+	 * @param semente - semente do gerador
+	 */
+	public BaseSintetica(int tamanho, long semente) {
+		this.semente = semente;
+		SplittableRandom rnd = new SplittableRandom(semente);
+		palavrasChave = new ArrayList<>(tamanho);
+		conhecimento = new HashMap<>(tamanho * 4 / 3 + 1);
+		int numero = 0;
+		while (palavrasChave.size() < tamanho) {
+			String palavra = palavra(numero++);
+			if (conhecimento.containsKey(palavra)) {
+				continue;
+			}
+			int quantidade = 1 + rnd.nextInt(3);
+			List<String> respostas = new ArrayList<>(quantidade);
+			for (int i = 0; i < quantidade; i++) {
+				respostas.add("resposta " + i + " sobre " + palavra + " com algum texto explicativo");
+			}
+			conhecimento.put(palavra, respostas);
+			palavrasChave.add(palavra);
+		}
+	}
+
+	/**
+	 * @return conhecimento gerado (palavra-chave e respostas)
+	 */
+	public Map<String, List<String>> getConhecimento() {
+		return conhecimento;
+	}
+
+	/**
+	 * Gera mensagens com distribuição uniforme das palavras-chave.
+	 *
+	 * @param quantidade - quantidade de mensagens
+	 * @return mensagens sem normalização
+	 */
+	public String[] mensagens(int quantidade) {
+		return mensagens(quantidade, quantidade, false);
+	}
+
+	/**
+	 * Gera mensagens repetidas com distribuição concentrada (aproximadamente Zipf),
+	 * como o tráfego real em que poucas perguntas se repetem muito.
+	 *
+	 * @param quantidade - quantidade de mensagens
+	 * @param distintas  - quantidade de mensagens diferentes
+	 * @return mensagens sem normalização
+	 */
+	public String[] mensagensRepetidas(int quantidade, int distintas) {
+		return mensagens(quantidade, distintas, true);
+	}
+
+	/**
+	 * Gera mensagens com uma palavra-chave digitada com erro (uma letra trocada
+	 * ou duas letras vizinhas invertidas) e nada mais.
+	 *
+	 * @param quantidade - quantidade de mensagens
+	 * @return mensagens sem normalização
+	 */
+	public String[] mensagensComErros(int quantidade) {
+		SplittableRandom rnd = new SplittableRandom(semente ^ 0x2545F491L);
+		String[] mensagens = new String[quantidade];
+		for (int i = 0; i < quantidade; i++) {
+			char[] letras = palavrasChave.get(rnd.nextInt(palavrasChave.size())).toCharArray();
+			int posicao = rnd.nextInt(letras.length - 1);
+			if (rnd.nextBoolean()) {
+				letras[posicao] = (char) ('a' + rnd.nextInt(26));
+			} else {
+				char letra = letras[posicao];
+				letras[posicao] = letras[posicao + 1];
+				letras[posicao + 1] = letra;
+			}
+			// Sem outras palavras: as sílabas das palavras-chave formam palavras
+			// comuns ("sabe") que seriam encontradas sem a busca aproximada
+			mensagens[i] = new String(letras) + "?";
+		}
+		return mensagens;
+	}
+
+	/**
+	 * Gera palavras que não estão no conhecimento, para serem ensinadas durante
+	 * os benchmarks.
+	 *
+	 * @param quantidade - quantidade de palavras
+	 * @return palavras distintas, sem normalização pendente
+	 */
+	public String[] palavrasNovas(int quantidade) {
+		String[] palavras = new String[quantidade];
+		for (int i = 0; i < quantidade; i++) {
+			// "zu" não é sílaba das palavras-chave; com duas sílabas ou mais o
+			// número não precisa de complemento e a palavra é única
+			palavras[i] = "zu" + palavra(SILABAS.length + i);
+		}
+		return palavras;
+	}
+
+	private String[] mensagens(int quantidade, int distintas, boolean concentrada) {
+		SplittableRandom rnd = new SplittableRandom(semente ^ 0x5DEECE66DL);
+		String[] modelos = new String[distintas];
+		for (int i = 0; i < distintas; i++) {
+			modelos[i] = mensagem(rnd);
+		}
+		String[] mensagens = new String[quantidade];
+		for (int i = 0; i < quantidade; i++) {
+			int indice;
+			if (concentrada) {
+				// Potência de uma uniforme concentra os sorteios nos primeiros
+				indice = (int) (Math.pow(rnd.nextDouble(), 4) * distintas);
+			} else {
+				indice = i % distintas;
+			}
+			mensagens[i] = modelos[indice];
+		}
+		return mensagens;
+	}
+
+	private String mensagem(SplittableRandom rnd) {
+		StringBuilder mensagem = new StringBuilder("Você sabe");
+		int palavras = 2 + rnd.nextInt(6);
+		for (int i = 0; i < palavras; i++) {
+			mensagem.append(' ');
+			int tipo = rnd.nextInt(10);
+			if (tipo < 4 && !palavrasChave.isEmpty()) {
+				// Palavra-chave conhecida, às vezes em maiúsculas
+				String palavra = palavrasChave.get(rnd.nextInt(palavrasChave.size()));
+				mensagem.append(rnd.nextInt(4) == 0 ? palavra.toUpperCase() : palavra);
+			} else if (tipo < 8) {
+				mensagem.append(LIGACOES[rnd.nextInt(LIGACOES.length)]);
+			} else {
+				// Palavra desconhecida
+				mensagem.append("ção").append(palavra(rnd.nextInt(1 << 20)));
+			}
+		}
+		return mensagem.append(ENFEITES[rnd.nextInt(ENFEITES.length)]).toString();
+	}
+
+	/**
+	 * Palavra única formada pelas sílabas do número.
+	 */
+	private static String palavra(int numero) {
+		StringBuilder palavra = new StringBuilder();
+		int n = numero;
+		do {
+			palavra.append(SILABAS[n % SILABAS.length]);
+			n /= SILABAS.length;
+		} while (n > 0);
+		// Palavras curtas poderiam coincidir com stop words
+		if (palavra.length() < 4) {
+			palavra.append("ra");
+		}
+		return palavra.toString();
+	}
+}
@@ -0,0 +1,476 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import entities.BaseConhecimentoMemoria;
+import entities.FileManager;
+import entities.MessageManager;
+import entities.MotorChatbot;
+import entities.SelecaoAleatoria;
+import entities.SelecaoSemeada;
+import entities.ServidorHttp;
+import entities.Tokenizador;
+
+/**
+ * Benchmarks do chatbot.
+ *
+ * Mede normalização, extração de palavras, tokenização, geração de respostas
+ * (com e sem cache, e com erros de digitação), gravação e carga do
+ * conhecimento, memória ocupada e a vazão da API HTTP, com conhecimentos
+ * sintéticos de vários tamanhos. Não usa bibliotecas externas: o aquecimento, a
+ * calibração e a alocação por operação ficam a cargo de {@link Medidor}.
+ *
+ * Uso:
+ *
+ * <pre>
+ * java -cp bin benchmark.Benchmark [cenário,...] [--tamanhos 1000,10000] [--tempo 1]
+ *         [--clientes 8] [--duracao 10] [--dados src/data]
+ * </pre>
+ *
+ * Cenários: normalizacao, extracao, tokenizacao, resposta, resposta-cache,
+ * resposta-aproximada, salvar, carregar, memoria, memoria-real, http,
+ * cache-consistencia (padrão: todos). Os arquivos são gravados em um diretório
+ * temporário, nunca nos dados do chatbot; {@code memoria-real} lê uma cópia do
+ * conhecimento em {@code --dados} (padrão: src/data).
+ *
+ * O cenário {@code cache-consistencia} não mede tempo: compara as respostas com
+ * e sem cache enquanto o conhecimento muda, até 100 mil palavras-chave.
+ */
+public class Benchmark {
+	private static final List<String> CENARIOS = Arrays.asList("normalizacao", "extracao", "tokenizacao",
+			"resposta", "resposta-cache", "resposta-aproximada", "salvar", "carregar", "memoria", "memoria-real", "http",
+			"cache-consistencia");
+	private static final long SEMENTE = 42;
+	// Conhecimento máximo da verificação do cache, que mantém dois motores
+	private static final int TAMANHO_MAXIMO_CONSISTENCIA = 100_000;
+	private static final int RODADAS_CONSISTENCIA = 10;
+	private static final int ALTERACOES_CONSISTENCIA = 20;
+
+	private final Set<String> cenarios = new LinkedHashSet<>();
+	private int[] tamanhos = { 1_000, 10_000, 100_000, 1_000_000 };
+	private double tempo = 1;
+	private int clientes = 8;
+	private double duracao = 10;
+	private String dados = "src/data";
+
+	private final PrintStream console = System.out;
+	private final PrintStream silencioso = new PrintStream(new OutputStream() {
+		@Override
+		public void write(int b) {
+			// Descarta as mensagens do chatbot durante as medições
+		}
+	});
+
+	public static void main(String[] args) throws Exception {
+		Benchmark benchmark = new Benchmark();
+		if (!benchmark.lerArgumentos(args)) {
+			return;
+		}
+		benchmark.executar();
+	}
+
+	private boolean lerArgumentos(String[] args) {
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "--tamanhos":
+					tamanhos = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+					break;
+				case "--tempo":
+					tempo = Double.parseDouble(args[++i]);
+					break;
+				case "--clientes":
+					clientes = Integer.parseInt(args[++i]);
+					break;
+				case "--duracao":
+					duracao = Double.parseDouble(args[++i]);
+					break;
+				case "--dados":
+					dados = args[++i];
+					break;
+				default:
+					for (String cenario : args[i].split(",")) {
+						if (!CENARIOS.contains(cenario)) {
+							System.out.println("Cenário desconhecido: " + cenario + " (disponíveis: " + CENARIOS + ")");
+							return false;
+						}
+						cenarios.add(cenario);
+					}
+				}
+			}
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			System.out.println("Argumentos inválidos: " + e.getMessage());
+			return false;
+		}
+		if (cenarios.isEmpty()) {
+			cenarios.addAll(CENARIOS);
+		}
+		return true;
+	}
+
+	private void executar() throws Exception {
+		Medidor medidor = new Medidor(tempo);
+		MessageManager messageManager = new MessageManager();
+		System.out.printf("Java %s, %d processador(es), heap máximo %d MiB%n", System.getProperty("java.version"),
+				Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() >> 20);
+		System.out.println(Medidor.Resultado.cabecalho());
+
+		// Cenários que não dependem do tamanho do conhecimento
+		BaseSintetica pequena = new BaseSintetica(1_000, SEMENTE);
+		String[] brutas = pequena.mensagens(4096);
+		String[] normalizadas = normalizar(messageManager, brutas);
+		if (cenarios.contains("normalizacao")) {
+			System.out.println(medidor.medir("normalizacao",
+					i -> messageManager.tratarMensagem(brutas[i & (brutas.length - 1)])));
+		}
+		if (cenarios.contains("extracao")) {
+			System.out.println(medidor.medir("extracao",
+					i -> messageManager.extrairPalavras(normalizadas[i & (normalizadas.length - 1)])));
+		}
+		if (cenarios.contains("tokenizacao")) {
+			Tokenizador tokens = new Tokenizador("");
+			System.out.println(medidor.medir("tokenizacao", i -> {
+				tokens.reiniciar(normalizadas[i & (normalizadas.length - 1)]);
+				int quantidade = 0;
+				while (tokens.proximo()) {
+					quantidade += tokens.fim() - tokens.inicio();
+				}
+				return quantidade;
+			}));
+		}
+
+		if (cenarios.contains("memoria-real")) {
+			medirMemoriaReal();
+		}
+
+		for (int tamanho : tamanhos) {
+			executarTamanho(medidor, messageManager, tamanho);
+		}
+	}
+
+	/**
+	 * Memória do conhecimento real: as listas lidas do JSON comparadas à base em
+	 * memória, que guarda cada resposta uma única vez.
+	 *
+	 * O conhecimento real é pequeno demais para o ruído do heap, então várias
+	 * cópias independentes são mantidas e a diferença é dividida entre elas.
+	 */
+	private void medirMemoriaReal() throws Exception {
+		File original = new File(dados, "conhecimento.json");
+		if (!original.isFile()) {
+			System.out.println("memoria-real: " + original + " não encontrado");
+			return;
+		}
+		File diretorio = Files.createTempDirectory("chatbot-benchmark").toFile();
+		System.setProperty("chatbot.dados", diretorio.getPath());
+		try {
+			Files.copy(original.toPath(), new File(diretorio, "conhecimento.json").toPath());
+			int copias = 200;
+			MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+			// Uma carga descartada antes, para que as classes não entrem na conta
+			new BaseConhecimentoMemoria(carregarJson());
+			long inicio = usado(memoria);
+			Object[] mapas = new Object[copias];
+			for (int i = 0; i < copias; i++) {
+				mapas[i] = carregarJson();
+			}
+			long listas = usado(memoria) - inicio;
+			mapas = null;
+			inicio = usado(memoria);
+			BaseConhecimentoMemoria[] bases = new BaseConhecimentoMemoria[copias];
+			for (int i = 0; i < copias; i++) {
+				bases[i] = new BaseConhecimentoMemoria(carregarJson());
+			}
+			long comBases = usado(memoria) - inicio;
+			BaseConhecimentoMemoria base = bases[0];
+			System.out.printf("%-36s %14.1f KiB listas do JSON, %.1f KiB base em memória (%d palavras-chave, "
+					+ "%d respostas, %d distintas)%n", "memoria-real", listas / 1024.0 / copias,
+					comBases / 1024.0 / copias, base.tamanho(), base.totalRespostas(),
+					base.respostasDistintas());
+		} finally {
+			System.clearProperty("chatbot.dados");
+			apagar(diretorio);
+		}
+	}
+
+	private Map<String, List<String>> carregarJson() throws Exception {
+		return silenciar(() -> {
+			FileManager fileManager = new FileManager();
+			Map<String, List<String>> carregado = fileManager.carregarConhecimento();
+			fileManager.encerrar();
+			return carregado;
+		});
+	}
+
+	/**
+	 * Cenários medidos com um conhecimento do tamanho informado.
+	 */
+	private void executarTamanho(Medidor medidor, MessageManager messageManager, int tamanho) throws Exception {
+		File diretorio = Files.createTempDirectory("chatbot-benchmark").toFile();
+		String cacheAnterior = System.getProperty("chatbot.cache.tamanho");
+		System.setProperty("chatbot.dados", diretorio.getPath());
+		try {
+			BaseSintetica base = new BaseSintetica(tamanho, SEMENTE);
+			Map<String, List<String>> conhecimento = base.getConhecimento();
+			String[] normalizadas = normalizar(messageManager, base.mensagens(4096));
+			String[] repetidas = normalizar(messageManager, base.mensagensRepetidas(1 << 16, 2_000));
+
+			// Snapshot inicial, usado pelos cenários de carga e de resposta
+			FileManager gravacao = silenciar(FileManager::new);
+			gravacao.salvarConhecimento(conhecimento);
+			gravacao.encerrar();
+
+			if (cenarios.contains("salvar")) {
+				FileManager fileManager = silenciar(FileManager::new);
+				System.out.println(medidor.medir("salvar [" + tamanho + "]",
+						i -> fileManager.salvarConhecimento(conhecimento)));
+				fileManager.encerrar();
+			}
+			if (cenarios.contains("carregar")) {
+				// Uma única instância: mede só a leitura, sem criar as threads de
+				// gravação
+				FileManager fileManager = silenciar(FileManager::new);
+				System.out.println(medidor.medir("carregar [" + tamanho + "]",
+						i -> silenciar(fileManager::carregarConhecimento)));
+				fileManager.encerrar();
+			}
+			if (cenarios.contains("memoria")) {
+				System.out.println(medirMemoria(tamanho));
+			}
+
+			boolean semCache = cenarios.contains("resposta") || cenarios.contains("resposta-aproximada");
+			boolean comCache = cenarios.contains("resposta-cache") || cenarios.contains("http");
+			if (semCache) {
+				System.setProperty("chatbot.cache.tamanho", "0");
+				MotorChatbot motor = silenciar(MotorChatbot::new);
+				if (cenarios.contains("resposta")) {
+					System.out.println(medidor.medir("resposta [" + tamanho + "]", i -> motor.gerarResposta(
+							normalizadas[i & (normalizadas.length - 1)], "usuário", SelecaoAleatoria.INSTANCIA)));
+				}
+				if (cenarios.contains("resposta-aproximada")) {
+					// Cada mensagem só é respondida pela busca aproximada
+					String[] comErros = normalizar(messageManager, base.mensagensComErros(4096));
+					System.out.println(medidor.medir("resposta-aproximada [" + tamanho + "]", i -> motor.gerarResposta(
+							comErros[i & (comErros.length - 1)], "usuário", SelecaoAleatoria.INSTANCIA)));
+				}
+				motor.encerrar();
+				restaurar("chatbot.cache.tamanho", cacheAnterior);
+			}
+			if (comCache) {
+				MotorChatbot motor = silenciar(MotorChatbot::new);
+				if (cenarios.contains("resposta-cache")) {
+					System.out.println(medidor.medir("resposta-cache [" + tamanho + "]", i -> motor
+							.gerarResposta(repetidas[i & (repetidas.length - 1)], "usuário", SelecaoAleatoria.INSTANCIA)));
+					System.out.println("  " + motor.getCache());
+				}
+				if (cenarios.contains("http")) {
+					medirHttp(motor, base.mensagensRepetidas(1 << 16, 2_000), tamanho);
+				}
+				motor.encerrar();
+			}
+			if (cenarios.contains("cache-consistencia") && tamanho <= TAMANHO_MAXIMO_CONSISTENCIA) {
+				verificarCache(base, diretorio, tamanho);
+			}
+		} finally {
+			restaurar("chatbot.cache.tamanho", cacheAnterior);
+			System.clearProperty("chatbot.dados");
+			apagar(diretorio);
+		}
+	}
+
+	/**
+	 * Compara as respostas de um motor com cache às de um motor sem cache,
+	 * ensinando e removendo palavras-chave entre as rodadas.
+	 *
+	 * Cada mensagem é respondida pelos dois com a mesma semente, então qualquer
+	 * diferença é uma candidata desatualizada no cache. As alterações incluem
+	 * palavras-chave sem relação com as mensagens, que só mudam o total e o
+	 * tamanho médio da pontuação, e frases com palavras-chave da base, que mudam
+	 * a raridade delas.
+	 */
+	private void verificarCache(BaseSintetica base, File diretorio, int tamanho) throws Exception {
+		Map<String, List<String>> conhecimento = base.getConhecimento();
+		List<String> palavras = new ArrayList<>(conhecimento.keySet());
+		MessageManager messageManager = new MessageManager();
+		String[] mensagens = normalizar(messageManager, base.mensagensRepetidas(2048, 256));
+		String[] novas = base.palavrasNovas(RODADAS_CONSISTENCIA * ALTERACOES_CONSISTENCIA);
+		String cacheAnterior = System.getProperty("chatbot.cache.tamanho");
+		MotorChatbot comCache = null;
+		MotorChatbot semCache = null;
+		try {
+			comCache = motorEm(new File(diretorio, "com-cache"), conhecimento);
+			System.setProperty("chatbot.cache.tamanho", "0");
+			semCache = motorEm(new File(diretorio, "sem-cache"), conhecimento);
+
+			SplittableRandom rnd = new SplittableRandom(SEMENTE);
+			int respostas = 0;
+			int divergencias = 0;
+			int proxima = 0;
+			for (int rodada = 0; rodada < RODADAS_CONSISTENCIA; rodada++) {
+				for (int i = 0; i < mensagens.length; i++) {
+					String esperada = semCache.gerarResposta(mensagens[i], "usuário", new SelecaoSemeada(i));
+					String obtida = comCache.gerarResposta(mensagens[i], "usuário", new SelecaoSemeada(i));
+					respostas++;
+					if (!esperada.equals(obtida)) {
+						divergencias++;
+					}
+				}
+				for (int i = 0; i < ALTERACOES_CONSISTENCIA; i++) {
+					String nova = novas[proxima++];
+					String frase = palavras.get(rnd.nextInt(palavras.size())) + " "
+							+ palavras.get(rnd.nextInt(palavras.size()));
+					String removida = palavras.get(rnd.nextInt(palavras.size()));
+					for (MotorChatbot motor : new MotorChatbot[] { comCache, semCache }) {
+						motor.ensinar(nova, "resposta sobre " + nova);
+						motor.ensinar(frase, "resposta sobre " + frase);
+						motor.removerPalavraChave(removida);
+					}
+				}
+			}
+			System.out.printf("%-36s %d respostas, %d divergências (%s)%n", "cache-consistencia [" + tamanho + "]",
+					respostas, divergencias, comCache.getCache());
+		} finally {
+			restaurar("chatbot.cache.tamanho", cacheAnterior);
+			System.setProperty("chatbot.dados", diretorio.getPath());
+			if (comCache != null) {
+				comCache.encerrar();
+			}
+			if (semCache != null) {
+				semCache.encerrar();
+			}
+		}
+	}
+
+	/**
+	 * Motor com uma cópia própria do conhecimento no diretório.
+	 */
+	private MotorChatbot motorEm(File diretorio, Map<String, List<String>> conhecimento) throws Exception {
+		System.setProperty("chatbot.dados", diretorio.getPath());
+		return silenciar(() -> {
+			FileManager gravacao = new FileManager();
+			gravacao.salvarConhecimento(conhecimento);
+			gravacao.encerrar();
+			return new MotorChatbot();
+		});
+	}
+
+	/**
+	 * Memória ocupada pelo motor depois de carregar o conhecimento.
+	 *
+	 * Diferença do heap usado após coletas completas; as threads de gravação
+	 * alocam em segundo plano, então abaixo de ~10 mil palavras-chave o valor
+	 * fica dentro do ruído da medição.
+	 */
+	private String medirMemoria(int tamanho) throws Exception {
+		MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+		// Uma carga descartada antes, para que classes e estruturas estáticas não
+		// entrem na conta
+		silenciar(MotorChatbot::new).encerrar();
+		long antes = usado(memoria);
+		long diretaAntes = memoriaDireta();
+		MotorChatbot motor = silenciar(MotorChatbot::new);
+		long depois = usado(memoria);
+		long bytes = depois - antes;
+		long direta = memoriaDireta() - diretaAntes;
+		motor.encerrar();
+		return String.format("%-36s %14.1f MiB (%.0f bytes por palavra-chave, %d palavras-chave; %.1f MiB fora do heap)",
+				"memoria [" + tamanho + "]", bytes / (1024.0 * 1024.0), (double) bytes / tamanho, motor.tamanho(),
+				direta / (1024.0 * 1024.0));
+	}
+
+	/**
+	 * Memória direta reservada pelos buffers fora do heap.
+	 */
+	private static long memoriaDireta() {
+		for (BufferPoolMXBean buffers : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+			if (buffers.getName().equals("direct")) {
+				return buffers.getMemoryUsed();
+			}
+		}
+		return 0;
+	}
+
+	private static long usado(MemoryMXBean memoria) throws InterruptedException {
+		// Várias coletas para estabilizar o heap
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return memoria.getHeapMemoryUsage().getUsed();
+	}
+
+	private void medirHttp(MotorChatbot motor, String[] mensagens, int tamanho) throws Exception {
+		ServidorHttp servidor = silenciar(() -> {
+			ServidorHttp http = new ServidorHttp(motor, 0);
+			http.iniciar();
+			return http;
+		});
+		try {
+			// Aquecimento curto antes da medição
+			new CargaHttp(servidor.getPorta(), mensagens, clientes, Math.min(2, duracao)).executar();
+			String resultado = new CargaHttp(servidor.getPorta(), mensagens, clientes, duracao).executar();
+			System.out.printf("%-36s %s%n", "http [" + tamanho + "]", resultado);
+		} finally {
+			servidor.close();
+		}
+	}
+
+	private static String[] normalizar(MessageManager messageManager, String[] mensagens) {
+		String[] normalizadas = new String[mensagens.length];
+		for (int i = 0; i < mensagens.length; i++) {
+			normalizadas[i] = messageManager.tratarMensagem(mensagens[i]);
+		}
+		return normalizadas;
+	}
+
+	/**
+	 * Criação que pode falhar.
+	 */
+	private interface Criacao<T> {
+		T criar() throws Exception;
+	}
+
+	/**
+	 * Executa sem as mensagens do chatbot no console.
+	 */
+	private <T> T silenciar(Criacao<T> criacao) throws Exception {
+		System.setOut(silencioso);
+		try {
+			return criacao.criar();
+		} finally {
+			System.setOut(console);
+		}
+	}
+
+	private static void restaurar(String propriedade, String valor) {
+		if (valor == null) {
+			System.clearProperty(propriedade);
+		} else {
+			System.setProperty(propriedade, valor);
+		}
+	}
+
+	private static void apagar(File arquivo) throws IOException {
+		File[] filhos = arquivo.listFiles();
+		if (filhos != null) {
+			for (File filho : filhos) {
+				apagar(filho);
+			}
+		}
+		Files.deleteIfExists(arquivo.toPath());
+	}
+}
@@ -0,0 +1,154 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import entities.FileManager;
+
+/**
+ * Carga na API HTTP.
+ *
+ * Vários clientes enviam mensagens para {@code /mensagem} sem pausa, cada um
+ * com sua conexão mantida aberta, durante o tempo definido. Informa as
+ * requisições por segundo e os percentis de latência.
+ */
+public class CargaHttp {
+	private final URL url;
+	private final String[] mensagens;
+	private final int clientes;
+	private final long duracaoNs;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param porta     - porta local do servidor
+	 * @param mensagens - mensagens enviadas em rodízio
+	 * @param clientes  - quantidade de clientes simultâneos
+	 * @param segundos  - duração da carga
+	 * @throws IOException - Endereço inválido
+	 */
+	public CargaHttp(int porta, String[] mensagens, int clientes, double segundos) throws IOException {
+		this.url = new URL("http://127.0.0.1:" + porta + "/mensagem");
+		this.mensagens = mensagens;
+		this.clientes = clientes;
+		this.duracaoNs = (long) (segundos * 1e9);
+	}
+
+	/**
+	 * Executa a carga e informa o resultado.
+	 *
+	 * @return linha com requisições por segundo e latências
+	 * @throws InterruptedException - Interrompido antes do fim
+	 */
+	public String executar() throws InterruptedException {
+		long[][] latencias = new long[clientes][];
+		int[] quantidades = new int[clientes];
+		int[] erros = new int[clientes];
+		CountDownLatch fim = new CountDownLatch(clientes);
+		long limite = System.nanoTime() + duracaoNs;
+
+		for (int c = 0; c < clientes; c++) {
+			long[] amostras = new long[1 << 16];
+			latencias[c] = amostras;
+			final int cliente = c;
+			Thread thread = new Thread(() -> {
+				try {
+					long[] atuais = amostras;
+					int i = 0;
+					while (System.nanoTime() < limite) {
+						String mensagem = mensagens[(cliente * 7919 + i) % mensagens.length];
+						long inicio = System.nanoTime();
+						if (!enviar(mensagem)) {
+							erros[cliente]++;
+						}
+						if (i == atuais.length) {
+							atuais = Arrays.copyOf(atuais, i * 2);
+							latencias[cliente] = atuais;
+						}
+						atuais[i++] = System.nanoTime() - inicio;
+					}
+					quantidades[cliente] = i;
+				} finally {
+					fim.countDown();
+				}
+			}, "carga-http-" + c);
+			thread.start();
+		}
+		fim.await();
+
+		int total = 0;
+		int totalErros = 0;
+		for (int c = 0; c < clientes; c++) {
+			total += quantidades[c];
+			totalErros += erros[c];
+		}
+		long[] todas = new long[total];
+		int posicao = 0;
+		for (int c = 0; c < clientes; c++) {
+			System.arraycopy(latencias[c], 0, todas, posicao, quantidades[c]);
+			posicao += quantidades[c];
+		}
+		Arrays.sort(todas);
+
+		return String.format("%d clientes: %.0f req/s, p50 %.1f µs, p99 %.1f µs, p99.9 %.1f µs, máx %.1f µs, %d erro(s)",
+				clientes, total / (duracaoNs / 1e9), percentil(todas, 0.50), percentil(todas, 0.99),
+				percentil(todas, 0.999), todas.length > 0 ? todas[todas.length - 1] / 1000.0 : 0, totalErros);
+	}
+
+	private static double percentil(long[] ordenadas, double fracao) {
+		if (ordenadas.length == 0) {
+			return 0;
+		}
+		int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(fracao * ordenadas.length) - 1);
+		return ordenadas[Math.max(0, indice)] / 1000.0;
+	}
+
+	/**
+	 * Envia uma mensagem e lê a resposta inteira, para que a conexão seja
+	 * reaproveitada.
+	 *
+	 * @return falso quando o servidor não respondeu 200
+	 */
+	private boolean enviar(String mensagem) {
+		try {
+			StringWriter json = new StringWriter();
+			json.write("{\"mensagem\":");
+			FileManager.escreverString(mensagem, json);
+			json.write(",\"nome\":\"carga\"}");
+			byte[] corpo = json.toString().getBytes(StandardCharsets.UTF_8);
+
+			HttpURLConnection conexao = (HttpURLConnection) url.openConnection();
+			conexao.setRequestMethod("POST");
+			conexao.setDoOutput(true);
+			conexao.setFixedLengthStreamingMode(corpo.length);
+			conexao.setRequestProperty("Content-Type", "application/json");
+			try (OutputStream saida = conexao.getOutputStream()) {
+				saida.write(corpo);
+			}
+			int status = conexao.getResponseCode();
+			try (InputStream entrada = status < 400 ? conexao.getInputStream() : conexao.getErrorStream()) {
+				ler(entrada);
+			}
+			return status == 200;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static void ler(InputStream entrada) throws IOException {
+		if (entrada == null) {
+			return;
+		}
+		byte[] buffer = new byte[4096];
+		while (entrada.read(buffer) != -1) {
+			// Descarta o corpo
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Medição de uma operação repetida.
+ *
+ * Aquece a operação, calibra quantas repetições cabem em uma iteração e mede
+ * várias iterações, informando o tempo médio por operação, o desvio entre as
+ * iterações e os bytes alocados por operação (quando a JVM informa a alocação
+ * por thread). Os resultados das operações são guardados em um vetor para que
+ * o compilador não descarte o trabalho medido.
+ */
+public class Medidor {
+	private static final int ITERACOES = 5;
+
+	private final long tempoIteracaoNs;
+	private final long tempoAquecimentoNs;
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	private final boolean alocacao;
+
+	// Resultados guardados para que as operações não sejam eliminadas
+	private final Object[] sumidouro = new Object[64];
+	private long nulos;
+
+	/**
+	 * Operação a ser medida.
+	 */
+	public interface Operacao {
+		/**
+		 * @param i - número da repetição, para variar a entrada
+		 * @return resultado da operação
+		 */
+		Object executar(int i) throws Exception;
+	}
+
+	/**
+	 * Resultado da medição.
+	 */
+	public static class Resultado {
+		final String nome;
+		final double nsPorOperacao;
+		final double desvio;
+		final double bytesPorOperacao;
+		final long operacoes;
+
+		Resultado(String nome, double nsPorOperacao, double desvio, double bytesPorOperacao, long operacoes) {
+			this.nome = nome;
+			this.nsPorOperacao = nsPorOperacao;
+			this.desvio = desvio;
+			this.bytesPorOperacao = bytesPorOperacao;
+			this.operacoes = operacoes;
+		}
+
+		@Override
+		public String toString() {
+			String bytes = bytesPorOperacao >= 0 ? String.format("%14.1f", bytesPorOperacao) : String.format("%14s", "-");
+			return String.format("%-36s %14.1f ± %-10.1f %s %12d", nome, nsPorOperacao, desvio, bytes, operacoes);
+		}
+
+		static String cabecalho() {
+			return String.format("%-36s %14s   %-10s %14s %12s", "cenário", "ns/op", "desvio", "bytes/op", "operações");
+		}
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param segundosIteracao - duração de cada iteração medida
+	 */
+	public Medidor(double segundosIteracao) {
+		tempoIteracaoNs = (long) (segundosIteracao * 1e9);
+		tempoAquecimentoNs = tempoIteracaoNs * 2;
+		boolean suportada = false;
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) threads;
+			suportada = sun.isThreadAllocatedMemorySupported();
+			if (suportada) {
+				sun.setThreadAllocatedMemoryEnabled(true);
+			}
+		}
+		alocacao = suportada;
+	}
+
+	/**
+	 * Mede uma operação.
+	 *
+	 * @param nome     - nome do cenário
+	 * @param operacao - operação medida
+	 * @return tempo e alocação por operação
+	 * @throws Exception - Erro da operação
+	 */
+	public Resultado medir(String nome, Operacao operacao) throws Exception {
+		// Aquecimento, dobrando as repetições até passar do tempo
+		int repeticoes = 1;
+		long inicioAquecimento = System.nanoTime();
+		long decorrido;
+		do {
+			long inicio = System.nanoTime();
+			executar(operacao, repeticoes, 0);
+			decorrido = System.nanoTime() - inicio;
+			if (decorrido < tempoIteracaoNs / 4 && repeticoes < Integer.MAX_VALUE / 2) {
+				repeticoes *= 2;
+			}
+		} while (System.nanoTime() - inicioAquecimento < tempoAquecimentoNs);
+
+		// Repetições que cabem em uma iteração
+		double nsEstimado = Math.max(1, (double) decorrido / repeticoes);
+		int porIteracao = (int) Math.max(1, Math.min(Integer.MAX_VALUE / 2, tempoIteracaoNs / nsEstimado));
+
+		double[] tempos = new double[ITERACOES];
+		long bytes = 0;
+		long total = 0;
+		for (int i = 0; i < ITERACOES; i++) {
+			long alocadoAntes = alocado();
+			long inicio = System.nanoTime();
+			executar(operacao, porIteracao, total);
+			long fim = System.nanoTime();
+			bytes += alocado() - alocadoAntes;
+			tempos[i] = (double) (fim - inicio) / porIteracao;
+			total += porIteracao;
+		}
+
+		// Libera os resultados guardados
+		Arrays.fill(sumidouro, null);
+
+		double media = Arrays.stream(tempos).average().orElse(0);
+		double variancia = Arrays.stream(tempos).map(t -> (t - media) * (t - media)).sum() / ITERACOES;
+		return new Resultado(nome, media, Math.sqrt(variancia), alocacao ? (double) bytes / total : -1, total);
+	}
+
+	/**
+	 * Bytes alocados pela thread atual.
+	 *
+	 * @return total alocado ou 0 quando a JVM não informa
+	 */
+	public long alocado() {
+		if (!alocacao) {
+			return 0;
+		}
+		return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * @return quantidade de resultados nulos (evita que o sumidouro seja
+	 *         eliminado)
+	 */
+	public long getNulos() {
+		return nulos;
+	}
+
+	private void executar(Operacao operacao, int repeticoes, long deslocamento) throws Exception {
+		Object[] sumidouro = this.sumidouro;
+		for (int i = 0; i < repeticoes; i++) {
+			Object resultado = operacao.executar((int) (deslocamento + i));
+			if (resultado == null) {
+				nulos++;
+			}
+			sumidouro[i & 63] = resultado;
+		}
+	}
+}
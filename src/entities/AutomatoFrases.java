@@ -0,0 +1,157 @@
+package entities;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Reconhecedor de frases em uma única passada (Aho-Corasick).
+ *
+ * Recebe um conjunto fixo de frases, cada uma ligada a um valor, e monta um
+ * autômato determinístico uma única vez. A busca percorre a mensagem caractere
+ * a caractere, sem voltar atrás, e encontra todas as frases presentes como
+ * palavras inteiras: "oi" é encontrada em "oi, tudo bem" mas não em "noite".
+ * Quando várias frases aparecem, vence a que foi adicionada primeiro.
+ *
+ * Depois de construído, o autômato é imutável e pode ser consultado por várias
+ * threads.
+ *
+ * @param <T> - valor ligado a cada frase
+ */
+public class AutomatoFrases<T> {
+	// Caracteres fora das frases vão para a coluna 0
+	private static final int OUTRO = 0;
+
+	private final int[] colunaCaractere = new int[128];
+	private final int colunas;
+	// Transições do autômato determinístico: estado * colunas + coluna
+	private final int[] transicoes;
+	// Frase que termina em cada estado (-1 se nenhuma) e próximo estado, pelos
+	// sufixos, em que outra frase termina
+	private final int[] frase;
+	private final int[] proximaSaida;
+	private final int[] tamanhoFrase;
+	private final List<T> valores;
+
+	/**
+	 * Construtor com as frases já normalizadas.
+	 *
+	 * @param frases  - frases em ordem de prioridade
+	 * @param valores - valor de cada frase
+	 */
+	public AutomatoFrases(List<String> frases, List<T> valores) {
+		this.valores = new ArrayList<>(valores);
+		tamanhoFrase = new int[frases.size()];
+
+		// Colunas apenas para os caracteres usados nas frases
+		int proximaColuna = 1;
+		for (String texto : frases) {
+			for (int i = 0; i < texto.length(); i++) {
+				char c = texto.charAt(i);
+				if (c >= colunaCaractere.length) {
+					throw new IllegalArgumentException("Frase fora do ASCII: " + texto);
+				}
+				if (colunaCaractere[c] == OUTRO) {
+					colunaCaractere[c] = proximaColuna++;
+				}
+			}
+		}
+		colunas = proximaColuna;
+
+		// Árvore de prefixos das frases
+		int maximoEstados = 1;
+		for (String texto : frases) {
+			maximoEstados += texto.length();
+		}
+		int[] arvore = new int[maximoEstados * colunas];
+		Arrays.fill(arvore, -1);
+		int[] fraseEstado = new int[maximoEstados];
+		Arrays.fill(fraseEstado, -1);
+		int estados = 1;
+		for (int f = 0; f < frases.size(); f++) {
+			String texto = frases.get(f);
+			tamanhoFrase[f] = texto.length();
+			int estado = 0;
+			for (int i = 0; i < texto.length(); i++) {
+				int posicao = estado * colunas + colunaCaractere[texto.charAt(i)];
+				if (arvore[posicao] < 0) {
+					arvore[posicao] = estados++;
+				}
+				estado = arvore[posicao];
+			}
+			// Frase repetida mantém a primeira
+			if (fraseEstado[estado] < 0) {
+				fraseEstado[estado] = f;
+			}
+		}
+
+		// Falhas calculadas em largura completam as transições
+		transicoes = Arrays.copyOf(arvore, estados * colunas);
+		frase = Arrays.copyOf(fraseEstado, estados);
+		proximaSaida = new int[estados];
+		int[] falha = new int[estados];
+		Arrays.fill(proximaSaida, -1);
+		Queue<Integer> fila = new ArrayDeque<>();
+		for (int c = 0; c < colunas; c++) {
+			int destino = transicoes[c];
+			if (destino < 0) {
+				transicoes[c] = 0;
+			} else {
+				falha[destino] = 0;
+				fila.add(destino);
+			}
+		}
+		while (!fila.isEmpty()) {
+			int estado = fila.poll();
+			int f = falha[estado];
+			proximaSaida[estado] = frase[f] >= 0 ? f : proximaSaida[f];
+			for (int c = 0; c < colunas; c++) {
+				int posicao = estado * colunas + c;
+				int destino = transicoes[posicao];
+				if (destino < 0) {
+					transicoes[posicao] = transicoes[f * colunas + c];
+				} else {
+					falha[destino] = transicoes[f * colunas + c];
+					fila.add(destino);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Busca a frase de maior prioridade presente como palavras inteiras.
+	 *
+	 * @param texto - mensagem normalizada
+	 * @return valor da frase encontrada, ou null se nenhuma
+	 */
+	public T buscar(CharSequence texto) {
+		int melhor = Integer.MAX_VALUE;
+		int estado = 0;
+		int tamanho = texto.length();
+		for (int i = 0; i < tamanho; i++) {
+			char c = texto.charAt(i);
+			estado = transicoes[estado * colunas + (c < colunaCaractere.length ? colunaCaractere[c] : OUTRO)];
+			// Frases só terminam no fim de uma palavra
+			if (i + 1 < tamanho && ehLetra(texto.charAt(i + 1))) {
+				continue;
+			}
+			for (int s = frase[estado] >= 0 ? estado : proximaSaida[estado]; s >= 0; s = proximaSaida[s]) {
+				int f = frase[s];
+				int inicio = i + 1 - tamanhoFrase[f];
+				if (f < melhor && (inicio == 0 || !ehLetra(texto.charAt(inicio - 1)))) {
+					melhor = f;
+					if (melhor == 0) {
+						return valores.get(0);
+					}
+				}
+			}
+		}
+		return melhor == Integer.MAX_VALUE ? null : valores.get(melhor);
+	}
+
+	private static boolean ehLetra(char c) {
+		return Character.isLetterOrDigit(c);
+	}
+}
@@ -0,0 +1,92 @@
+package entities;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Armazenamento do conhecimento do chatbot.
+ *
+ * Guarda as respostas de cada palavra-chave e é compartilhado por todas as
+ * sessões de conversa. As leituras podem ocorrer em paralelo com as alterações,
+ * que são feitas apenas por meio de {@link OperacaoConhecimento}.
+ *
+ * @see BaseConhecimentoMemoria
+ * @see BaseConhecimentoForaHeap
+ * @see BaseConhecimentoPreguicosa
+ */
+public interface BaseConhecimento {
+
+	/**
+	 * Cria o armazenamento escolhido em {@code -Dchatbot.conhecimento}:
+	 * {@code memoria} (padrão) ou {@code fora-heap}. Na carga preguiçosa, o
+	 * padrão mantém as respostas no arquivo.
+	 *
+	 * @param inicial    - conhecimento carregado
+	 * @param preguicosa - se as respostas foram carregadas sob demanda
+	 * @return armazenamento com o conhecimento
+	 * @see FileManager#isCargaPreguicosa()
+	 */
+	static BaseConhecimento configurada(Map<String, List<String>> inicial, boolean preguicosa) {
+		String tipo = System.getProperty("chatbot.conhecimento", "memoria").trim();
+		if (tipo.equalsIgnoreCase("fora-heap")) {
+			return new BaseConhecimentoForaHeap(inicial);
+		}
+		if (preguicosa) {
+			return new BaseConhecimentoPreguicosa(inicial);
+		}
+		if (!tipo.isEmpty() && !tipo.equalsIgnoreCase("memoria")) {
+			System.out.printf("Chatbot: Armazenamento inválido '%s', usando memoria%n", tipo);
+		}
+		return new BaseConhecimentoMemoria(inicial);
+	}
+
+	/**
+	 * Respostas de uma palavra-chave.
+	 *
+	 * @param palavraChave - palavra-chave normalizada
+	 * @return respostas somente para leitura, ou null se a palavra-chave não
+	 *         existe
+	 */
+	List<String> respostas(String palavraChave);
+
+	/**
+	 * Verifica se a palavra-chave existe.
+	 *
+	 * @param palavraChave - palavra-chave normalizada
+	 * @return verdadeiro quando há respostas para a palavra-chave
+	 */
+	boolean contem(String palavraChave);
+
+	/**
+	 * Quantidade de palavras-chave.
+	 *
+	 * @return total de palavras-chave
+	 */
+	int tamanho();
+
+	/**
+	 * Palavras-chave existentes.
+	 *
+	 * @return visão somente para leitura, que reflete as alterações posteriores
+	 */
+	Set<String> palavrasChave();
+
+	/**
+	 * Aplica uma alteração.
+	 *
+	 * Alterações concorrentes na mesma palavra-chave são aplicadas uma de cada
+	 * vez; os leitores veem as respostas antes ou depois da alteração, nunca
+	 * pela metade.
+	 *
+	 * @param operacao - alteração a ser aplicada
+	 */
+	void aplicar(OperacaoConhecimento operacao);
+
+	/**
+	 * Cópia do conhecimento para gravação.
+	 *
+	 * @return conhecimento no momento da chamada, que não será mais alterado
+	 */
+	Map<String, List<String>> copiar();
+}
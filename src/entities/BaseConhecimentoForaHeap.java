@@ -0,0 +1,576 @@
+package entities;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Conhecimento mantido fora do heap, para bases muito grandes.
+ *
+ * Palavras-chave e respostas ficam em memória direta
+ * ({@link ByteBuffer#allocateDirect(int)}), em registros UTF-8 acrescentados a
+ * segmentos: {@code [tamanho][palavra-chave][quantidade]([tamanho][resposta])*}.
+ * O índice das palavras-chave é uma tabela hash de endereçamento aberto, também
+ * em memória direta, com o endereço do registro e o hash da palavra-chave em
+ * cada posição. O heap não guarda nenhum objeto por palavra-chave: o coletor de
+ * lixo vê apenas alguns buffers, qualquer que seja o tamanho do conhecimento.
+ *
+ * Uma alteração grava um registro novo e troca o endereço no índice; o registro
+ * antigo vira lixo e os segmentos são compactados quando o lixo passa dos bytes
+ * em uso. As respostas são decodificadas a cada leitura. Leituras compartilham
+ * uma trava de leitura; alterações usam a trava exclusiva.
+ *
+ * Ativado com {@code -Dchatbot.conhecimento=fora-heap}; o limite de memória
+ * direta da JVM é ajustado com {@code -XX:MaxDirectMemorySize}.
+ */
+public class BaseConhecimentoForaHeap implements BaseConhecimento {
+	private static final long VAZIO = -1L;
+	// Endereço (long) e hash da palavra-chave (int)
+	private static final int BYTES_POSICAO = 12;
+	private static final int SEGMENTO_INICIAL = 64 * 1024;
+	private static final int SEGMENTO_MAXIMO = 64 * 1024 * 1024;
+	// Lixo tolerado antes da compactação, mesmo acima dos bytes em uso
+	private static final long LIXO_MINIMO = 1024 * 1024;
+
+	private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+	private Registros registros = new Registros(SEGMENTO_INICIAL);
+	private ByteBuffer posicoes;
+	private int capacidade;
+	private volatile int quantidade = 0;
+	private long lixo = 0;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param inicial - conhecimento carregado, copiado para fora do heap
+	 */
+	public BaseConhecimentoForaHeap(Map<String, List<String>> inicial) {
+		capacidade = 16;
+		while (inicial.size() * 2 > capacidade) {
+			capacidade *= 2;
+		}
+		posicoes = alocarPosicoes(capacidade);
+		for (Map.Entry<String, List<String>> entrada : inicial.entrySet()) {
+			if (!entrada.getValue().isEmpty()) {
+				gravar(entrada.getKey(), entrada.getValue());
+			}
+		}
+	}
+
+	@Override
+	public List<String> respostas(String palavraChave) {
+		trava.readLock().lock();
+		try {
+			int posicao = procurar(palavraChave, espalhar(palavraChave.hashCode()));
+			return posicao >= 0 ? registros.respostas(endereco(posicao)) : null;
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean contem(String palavraChave) {
+		trava.readLock().lock();
+		try {
+			return procurar(palavraChave, espalhar(palavraChave.hashCode())) >= 0;
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int tamanho() {
+		return quantidade;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * A visão percorre o índice na ordem das posições: uma palavra-chave incluída
+	 * durante a iteração pode não aparecer, e se o índice crescer no meio dela
+	 * palavras-chave já vistas podem se repetir.
+	 */
+	@Override
+	public Set<String> palavrasChave() {
+		return new AbstractSet<String>() {
+			@Override
+			public Iterator<String> iterator() {
+				return new IteradorChaves();
+			}
+
+			@Override
+			public int size() {
+				return quantidade;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return o instanceof String && contem((String) o);
+			}
+		};
+	}
+
+	@Override
+	public void aplicar(OperacaoConhecimento operacao) {
+		trava.writeLock().lock();
+		try {
+			String chave = operacao.getChave();
+			int posicao = procurar(chave, espalhar(chave.hashCode()));
+			List<String> atuais = posicao >= 0 ? registros.respostas(endereco(posicao)) : null;
+			List<String> novas = operacao.aplicar(atuais);
+			if (novas != null) {
+				if (posicao >= 0) {
+					lixo += registros.tamanho(endereco(posicao));
+				}
+				gravar(chave, novas);
+			} else if (posicao >= 0) {
+				lixo += registros.tamanho(endereco(posicao));
+				remover(posicao);
+				quantidade--;
+			}
+			if (lixo > LIXO_MINIMO && lixo > registros.getBytes() - lixo) {
+				compactar();
+			}
+		} finally {
+			trava.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Os registros em uso são copiados para segmentos novos, também fora do heap;
+	 * a cópia é decodificada durante a gravação do snapshot.
+	 */
+	@Override
+	public Map<String, List<String>> copiar() {
+		trava.readLock().lock();
+		try {
+			Registros copia = new Registros(tamanhoSegmento(registros.getBytes() - lixo));
+			for (int i = 0; i < capacidade; i++) {
+				long endereco = endereco(i);
+				if (endereco != VAZIO) {
+					copia.copiar(registros, endereco);
+				}
+			}
+			return new Copia(copia, quantidade);
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return bytes de memória direta reservados pelos registros e pelo índice
+	 */
+	public long bytesForaHeap() {
+		trava.readLock().lock();
+		try {
+			return registros.getCapacidade() + posicoes.capacity();
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Grava o registro e aponta a palavra-chave para ele, incluindo-a se
+	 * necessário.
+	 */
+	private void gravar(String chave, List<String> respostas) {
+		int hash = espalhar(chave.hashCode());
+		long endereco = registros.gravar(chave, respostas);
+		int posicao = procurar(chave, hash);
+		if (posicao >= 0) {
+			posicoes.putLong(posicao * BYTES_POSICAO, endereco);
+			return;
+		}
+		// Mantém o índice no máximo meio cheio
+		if ((quantidade + 1) * 2 > capacidade) {
+			redimensionar();
+		}
+		inserir(endereco, hash);
+		quantidade++;
+	}
+
+	/**
+	 * Posição da palavra-chave no índice.
+	 *
+	 * @return posição, ou -1 se a palavra-chave não existe
+	 */
+	private int procurar(String chave, int hash) {
+		int mascara = capacidade - 1;
+		for (int i = hash & mascara;; i = (i + 1) & mascara) {
+			long endereco = endereco(i);
+			if (endereco == VAZIO) {
+				return -1;
+			}
+			if (posicoes.getInt(i * BYTES_POSICAO + 8) == hash && registros.chaveIgual(endereco, chave)) {
+				return i;
+			}
+		}
+	}
+
+	private void inserir(long endereco, int hash) {
+		int mascara = capacidade - 1;
+		int i = hash & mascara;
+		while (endereco(i) != VAZIO) {
+			i = (i + 1) & mascara;
+		}
+		posicoes.putLong(i * BYTES_POSICAO, endereco);
+		posicoes.putInt(i * BYTES_POSICAO + 8, hash);
+	}
+
+	/**
+	 * Esvazia a posição e puxa para trás as palavras-chave seguintes que ficariam
+	 * inalcançáveis, sem marcas de removido.
+	 */
+	private void remover(int vazio) {
+		int mascara = capacidade - 1;
+		posicoes.putLong(vazio * BYTES_POSICAO, VAZIO);
+		for (int i = (vazio + 1) & mascara; endereco(i) != VAZIO; i = (i + 1) & mascara) {
+			int hash = posicoes.getInt(i * BYTES_POSICAO + 8);
+			// Move se a posição desejada não está entre o vazio e a atual
+			if (((i - (hash & mascara)) & mascara) >= ((i - vazio) & mascara)) {
+				posicoes.putLong(vazio * BYTES_POSICAO, endereco(i));
+				posicoes.putInt(vazio * BYTES_POSICAO + 8, hash);
+				posicoes.putLong(i * BYTES_POSICAO, VAZIO);
+				vazio = i;
+			}
+		}
+	}
+
+	private void redimensionar() {
+		ByteBuffer antigas = posicoes;
+		int antigaCapacidade = capacidade;
+		capacidade *= 2;
+		posicoes = alocarPosicoes(capacidade);
+		for (int i = 0; i < antigaCapacidade; i++) {
+			long endereco = antigas.getLong(i * BYTES_POSICAO);
+			if (endereco != VAZIO) {
+				inserir(endereco, antigas.getInt(i * BYTES_POSICAO + 8));
+			}
+		}
+	}
+
+	/**
+	 * Copia os registros em uso para segmentos novos, descartando o lixo.
+	 */
+	private void compactar() {
+		Registros novos = new Registros(tamanhoSegmento(registros.getBytes() - lixo));
+		for (int i = 0; i < capacidade; i++) {
+			long endereco = endereco(i);
+			if (endereco != VAZIO) {
+				posicoes.putLong(i * BYTES_POSICAO, novos.copiar(registros, endereco));
+			}
+		}
+		registros = novos;
+		lixo = 0;
+	}
+
+	private long endereco(int posicao) {
+		return posicoes.getLong(posicao * BYTES_POSICAO);
+	}
+
+	private static ByteBuffer alocarPosicoes(int capacidade) {
+		ByteBuffer posicoes = ByteBuffer.allocateDirect(capacidade * BYTES_POSICAO).order(ByteOrder.nativeOrder());
+		for (int i = 0; i < capacidade; i++) {
+			posicoes.putLong(i * BYTES_POSICAO, VAZIO);
+		}
+		return posicoes;
+	}
+
+	private static int tamanhoSegmento(long bytes) {
+		return (int) Math.max(SEGMENTO_INICIAL, Math.min(SEGMENTO_MAXIMO, bytes));
+	}
+
+	private static int espalhar(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Percorre as posições ocupadas do índice, uma por vez com a trava de
+	 * leitura.
+	 */
+	private class IteradorChaves implements Iterator<String> {
+		private int posicao = 0;
+		private String proxima;
+
+		@Override
+		public boolean hasNext() {
+			if (proxima != null) {
+				return true;
+			}
+			trava.readLock().lock();
+			try {
+				for (; posicao < capacidade; posicao++) {
+					long endereco = endereco(posicao);
+					if (endereco != VAZIO) {
+						proxima = registros.chave(endereco);
+						posicao++;
+						return true;
+					}
+				}
+				return false;
+			} finally {
+				trava.readLock().unlock();
+			}
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			String chave = proxima;
+			proxima = null;
+			return chave;
+		}
+	}
+
+	/**
+	 * Cópia somente para leitura, decodificada na ordem dos registros.
+	 */
+	private static class Copia extends AbstractMap<String, List<String>> {
+		private final Registros registros;
+		private final int quantidade;
+
+		Copia(Registros registros, int quantidade) {
+			this.registros = registros;
+			this.quantidade = quantidade;
+		}
+
+		@Override
+		public Set<Map.Entry<String, List<String>>> entrySet() {
+			return new AbstractSet<Map.Entry<String, List<String>>>() {
+				@Override
+				public Iterator<Map.Entry<String, List<String>>> iterator() {
+					return registros.entradas();
+				}
+
+				@Override
+				public int size() {
+					return quantidade;
+				}
+			};
+		}
+	}
+
+	/**
+	 * Segmentos de memória direta onde os registros são acrescentados.
+	 *
+	 * O endereço de um registro combina o segmento (32 bits altos) e a posição
+	 * dentro dele. Um registro nunca é dividido entre segmentos.
+	 */
+	private static class Registros {
+		private ByteBuffer[] segmentos = new ByteBuffer[4];
+		private int[] usados = new int[4];
+		private int quantidade = 0;
+		private int proximoTamanho;
+		private long bytes = 0;
+		private long capacidadeTotal = 0;
+
+		Registros(int tamanhoInicial) {
+			proximoTamanho = tamanhoInicial;
+		}
+
+		long getBytes() {
+			return bytes;
+		}
+
+		long getCapacidade() {
+			return capacidadeTotal;
+		}
+
+		/**
+		 * Acrescenta o registro de uma palavra-chave.
+		 *
+		 * @return endereço do registro
+		 */
+		long gravar(String chave, List<String> respostas) {
+			byte[] bytesChave = chave.getBytes(StandardCharsets.UTF_8);
+			byte[][] bytesRespostas = new byte[respostas.size()][];
+			int tamanho = 8 + bytesChave.length;
+			for (int i = 0; i < bytesRespostas.length; i++) {
+				bytesRespostas[i] = respostas.get(i).getBytes(StandardCharsets.UTF_8);
+				tamanho += 4 + bytesRespostas[i].length;
+			}
+			long endereco = reservar(tamanho);
+			ByteBuffer segmento = segmentos[(int) (endereco >>> 32)];
+			int posicao = escrever(segmento, (int) endereco, bytesChave);
+			segmento.putInt(posicao, bytesRespostas.length);
+			posicao += 4;
+			for (byte[] resposta : bytesRespostas) {
+				posicao = escrever(segmento, posicao, resposta);
+			}
+			return endereco;
+		}
+
+		/**
+		 * Acrescenta uma cópia de um registro de outros segmentos.
+		 *
+		 * @return endereço da cópia
+		 */
+		long copiar(Registros origem, long endereco) {
+			int tamanho = origem.tamanho(endereco);
+			long novo = reservar(tamanho);
+			ByteBuffer leitura = origem.segmentos[(int) (endereco >>> 32)].duplicate();
+			leitura.limit((int) endereco + tamanho);
+			leitura.position((int) endereco);
+			ByteBuffer escrita = segmentos[(int) (novo >>> 32)].duplicate();
+			escrita.position((int) novo);
+			escrita.put(leitura);
+			return novo;
+		}
+
+		/**
+		 * Tamanho total do registro, em bytes.
+		 */
+		int tamanho(long endereco) {
+			ByteBuffer segmento = segmentos[(int) (endereco >>> 32)];
+			int inicio = (int) endereco;
+			int posicao = inicio + 4 + segmento.getInt(inicio);
+			int respostas = segmento.getInt(posicao);
+			posicao += 4;
+			for (int i = 0; i < respostas; i++) {
+				posicao += 4 + segmento.getInt(posicao);
+			}
+			return posicao - inicio;
+		}
+
+		String chave(long endereco) {
+			return ler(segmentos[(int) (endereco >>> 32)], (int) endereco);
+		}
+
+		List<String> respostas(long endereco) {
+			ByteBuffer segmento = segmentos[(int) (endereco >>> 32)];
+			int posicao = (int) endereco;
+			posicao += 4 + segmento.getInt(posicao);
+			String[] respostas = new String[segmento.getInt(posicao)];
+			posicao += 4;
+			for (int i = 0; i < respostas.length; i++) {
+				respostas[i] = ler(segmento, posicao);
+				posicao += 4 + segmento.getInt(posicao);
+			}
+			return Collections.unmodifiableList(Arrays.asList(respostas));
+		}
+
+		/**
+		 * Compara a palavra-chave do registro com um texto, codificando-o em UTF-8
+		 * durante a comparação, sem criar objetos.
+		 */
+		boolean chaveIgual(long endereco, String chave) {
+			ByteBuffer segmento = segmentos[(int) (endereco >>> 32)];
+			int posicao = (int) endereco;
+			int fim = posicao + 4 + segmento.getInt(posicao);
+			posicao += 4;
+			for (int i = 0; i < chave.length(); i++) {
+				char c = chave.charAt(i);
+				int codigo = c;
+				if (Character.isHighSurrogate(c) && i + 1 < chave.length()
+						&& Character.isLowSurrogate(chave.charAt(i + 1))) {
+					codigo = Character.toCodePoint(c, chave.charAt(++i));
+				} else if (Character.isSurrogate(c)) {
+					// Como em String.getBytes: caractere inválido vira '?'
+					codigo = '?';
+				}
+				int bytes = codigo < 0x80 ? 1 : codigo < 0x800 ? 2 : codigo < 0x10000 ? 3 : 4;
+				if (posicao + bytes > fim) {
+					return false;
+				}
+				if (bytes == 1) {
+					if (segmento.get(posicao) != codigo) {
+						return false;
+					}
+				} else {
+					// Primeiro byte: marcador do tamanho e bits mais altos
+					int deslocamento = 6 * (bytes - 1);
+					if (segmento.get(posicao) != (byte) ((0xF00 >> bytes) | (codigo >> deslocamento))) {
+						return false;
+					}
+					for (int j = 1; j < bytes; j++) {
+						deslocamento -= 6;
+						if (segmento.get(posicao + j) != (byte) (0x80 | ((codigo >> deslocamento) & 0x3F))) {
+							return false;
+						}
+					}
+				}
+				posicao += bytes;
+			}
+			return posicao == fim;
+		}
+
+		/**
+		 * Percorre os registros na ordem em que foram gravados.
+		 */
+		Iterator<Map.Entry<String, List<String>>> entradas() {
+			return new Iterator<Map.Entry<String, List<String>>>() {
+				private int segmento = 0;
+				private int posicao = 0;
+
+				@Override
+				public boolean hasNext() {
+					while (segmento < quantidade && posicao >= usados[segmento]) {
+						segmento++;
+						posicao = 0;
+					}
+					return segmento < quantidade;
+				}
+
+				@Override
+				public Map.Entry<String, List<String>> next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					long endereco = ((long) segmento << 32) | posicao;
+					posicao += tamanho(endereco);
+					return new AbstractMap.SimpleImmutableEntry<>(chave(endereco), respostas(endereco));
+				}
+			};
+		}
+
+		private long reservar(int tamanho) {
+			if (quantidade == 0 || usados[quantidade - 1] + tamanho > segmentos[quantidade - 1].capacity()) {
+				if (quantidade == segmentos.length) {
+					segmentos = Arrays.copyOf(segmentos, quantidade * 2);
+					usados = Arrays.copyOf(usados, quantidade * 2);
+				}
+				int capacidade = Math.max(proximoTamanho, tamanho);
+				segmentos[quantidade++] = ByteBuffer.allocateDirect(capacidade).order(ByteOrder.nativeOrder());
+				capacidadeTotal += capacidade;
+				proximoTamanho = (int) Math.min(SEGMENTO_MAXIMO, proximoTamanho * 2L);
+			}
+			int segmento = quantidade - 1;
+			int posicao = usados[segmento];
+			usados[segmento] += tamanho;
+			bytes += tamanho;
+			return ((long) segmento << 32) | posicao;
+		}
+
+		private static int escrever(ByteBuffer segmento, int posicao, byte[] bytes) {
+			segmento.putInt(posicao, bytes.length);
+			posicao += 4;
+			for (byte b : bytes) {
+				segmento.put(posicao++, b);
+			}
+			return posicao;
+		}
+
+		private static String ler(ByteBuffer segmento, int posicao) {
+			byte[] bytes = new byte[segmento.getInt(posicao)];
+			posicao += 4;
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = segmento.get(posicao + i);
+			}
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+}
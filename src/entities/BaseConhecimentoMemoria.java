@@ -0,0 +1,181 @@
+package entities;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conhecimento mantido em memória.
+ *
+ * Os textos das respostas ficam uma única vez em uma {@link TabelaRespostas} e
+ * cada palavra-chave guarda apenas um vetor com os identificadores das suas
+ * respostas, dentro de um {@link ConcurrentHashMap}. Uma alteração cria um
+ * vetor novo e o troca na palavra-chave (cópia na escrita), de forma que as
+ * leituras não usam travas e nunca veem um vetor sendo alterado.
+ *
+ * Carregada de um {@link SnapshotBinario}, a base reaproveita os índices das
+ * respostas do snapshot e mantém a decodificação sob demanda.
+ */
+public class BaseConhecimentoMemoria implements BaseConhecimento {
+	private final ConcurrentHashMap<String, int[]> conhecimento;
+	private final TabelaRespostas tabela;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param inicial - conhecimento carregado; respostas repetidas passam a ser
+	 *                guardadas uma única vez
+	 */
+	public BaseConhecimentoMemoria(Map<String, List<String>> inicial) {
+		conhecimento = new ConcurrentHashMap<>(Math.max(16, inicial.size() * 4 / 3 + 1));
+		SnapshotBinario.TabelaStrings fonte = fonte(inicial);
+		int respostas = 0;
+		if (fonte == null) {
+			for (List<String> lista : inicial.values()) {
+				respostas += lista.size();
+			}
+		}
+		tabela = new TabelaRespostas(fonte, respostas);
+		for (Map.Entry<String, List<String>> entrada : inicial.entrySet()) {
+			if (!entrada.getValue().isEmpty()) {
+				conhecimento.put(entrada.getKey(), cadastrar(entrada.getValue()));
+			}
+		}
+	}
+
+	/**
+	 * Tabela de respostas do snapshot de onde o conhecimento foi carregado.
+	 */
+	private static SnapshotBinario.TabelaStrings fonte(Map<String, List<String>> inicial) {
+		for (List<String> respostas : inicial.values()) {
+			if (respostas instanceof SnapshotBinario.ListaRespostas) {
+				return ((SnapshotBinario.ListaRespostas) respostas).getTabela();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public List<String> respostas(String palavraChave) {
+		while (true) {
+			int[] ids = conhecimento.get(palavraChave);
+			if (ids == null) {
+				return null;
+			}
+			List<String> respostas = textos(ids);
+			// Os identificadores só são liberados depois de trocados na
+			// palavra-chave: se o vetor ainda é o mesmo, os textos estão certos
+			if (conhecimento.get(palavraChave) == ids) {
+				return respostas;
+			}
+		}
+	}
+
+	@Override
+	public boolean contem(String palavraChave) {
+		return conhecimento.containsKey(palavraChave);
+	}
+
+	@Override
+	public int tamanho() {
+		return conhecimento.size();
+	}
+
+	@Override
+	public Set<String> palavrasChave() {
+		return Collections.unmodifiableSet(conhecimento.keySet());
+	}
+
+	@Override
+	public void aplicar(OperacaoConhecimento operacao) {
+		int[][] anteriores = new int[1][];
+		conhecimento.compute(operacao.getChave(), (chave, ids) -> {
+			anteriores[0] = ids;
+			List<String> novas = operacao.aplicar(ids != null ? textos(ids) : null);
+			return novas != null ? cadastrar(novas) : null;
+		});
+		// Libera as respostas antigas só depois de publicar as novas
+		if (anteriores[0] != null) {
+			for (int id : anteriores[0]) {
+				tabela.liberar(id);
+			}
+		}
+	}
+
+	@Override
+	public Map<String, List<String>> copiar() {
+		// Chamado sem alterações em andamento: os textos não mudam na cópia
+		Map<String, List<String>> copia = new HashMap<>(conhecimento.size() * 4 / 3 + 1);
+		for (Map.Entry<String, int[]> entrada : conhecimento.entrySet()) {
+			copia.put(entrada.getKey(), textos(entrada.getValue()));
+		}
+		return copia;
+	}
+
+	/**
+	 * @return quantidade de respostas distintas guardadas
+	 */
+	public int respostasDistintas() {
+		return tabela.distintas();
+	}
+
+	/**
+	 * @return quantidade de respostas somando todas as palavras-chave
+	 */
+	public long totalRespostas() {
+		return tabela.referencias();
+	}
+
+	private int[] cadastrar(List<String> respostas) {
+		// Respostas do snapshot ainda não alteradas: índices sem decodificar
+		if (respostas instanceof SnapshotBinario.ListaRespostas) {
+			SnapshotBinario.ListaRespostas lista = (SnapshotBinario.ListaRespostas) respostas;
+			int[] ids = lista.getIds();
+			if (ids != null && lista.getTabela() == tabela.getFonte()) {
+				for (int id : ids) {
+					tabela.usar(id);
+				}
+				return ids;
+			}
+		}
+		int[] ids = new int[respostas.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = tabela.obter(respostas.get(i));
+		}
+		return ids;
+	}
+
+	private List<String> textos(int[] ids) {
+		String[] textos = new String[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			textos[i] = tabela.texto(ids[i]);
+		}
+		return new Respostas(textos);
+	}
+
+	/**
+	 * Respostas de uma palavra-chave, somente para leitura.
+	 */
+	private static class Respostas extends AbstractList<String> implements RandomAccess {
+		private final String[] textos;
+
+		Respostas(String[] textos) {
+			this.textos = textos;
+		}
+
+		@Override
+		public String get(int indice) {
+			return textos[indice];
+		}
+
+		@Override
+		public int size() {
+			return textos.length;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package entities;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conhecimento com as respostas lidas do snapshot sob demanda.
+ *
+ * Guarda as listas recebidas da carga sem decodificá-las: as de
+ * {@link SnapshotJsonPreguicoso} são lidas do arquivo na primeira resposta e
+ * mantidas apenas no cache LRU da carga; as de {@link SnapshotBinario} ficam no
+ * arquivo mapeado. Uma palavra-chave alterada passa a guardar uma lista comum em
+ * memória.
+ *
+ * Usada com {@code -Dchatbot.carga=preguicosa}.
+ */
+public class BaseConhecimentoPreguicosa implements BaseConhecimento {
+	private final ConcurrentHashMap<String, List<String>> conhecimento;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param inicial - conhecimento carregado, com as respostas ainda no arquivo
+	 */
+	public BaseConhecimentoPreguicosa(Map<String, List<String>> inicial) {
+		conhecimento = new ConcurrentHashMap<>(Math.max(16, inicial.size() * 4 / 3 + 1));
+		for (Map.Entry<String, List<String>> entrada : inicial.entrySet()) {
+			List<String> respostas = entrada.getValue();
+			// O tamanho das listas do arquivo é conhecido sem decodificá-las
+			if (!respostas.isEmpty()) {
+				conhecimento.put(entrada.getKey(), respostas instanceof SnapshotJsonPreguicoso.RespostasArquivo
+						? respostas : Collections.unmodifiableList(respostas));
+			}
+		}
+	}
+
+	@Override
+	public List<String> respostas(String palavraChave) {
+		List<String> respostas = conhecimento.get(palavraChave);
+		return respostas != null ? carregar(respostas) : null;
+	}
+
+	@Override
+	public boolean contem(String palavraChave) {
+		return conhecimento.containsKey(palavraChave);
+	}
+
+	@Override
+	public int tamanho() {
+		return conhecimento.size();
+	}
+
+	@Override
+	public Set<String> palavrasChave() {
+		return Collections.unmodifiableSet(conhecimento.keySet());
+	}
+
+	@Override
+	public void aplicar(OperacaoConhecimento operacao) {
+		conhecimento.compute(operacao.getChave(), (chave, respostas) -> {
+			List<String> novas = operacao.aplicar(respostas != null ? carregar(respostas) : null);
+			return novas != null ? Collections.unmodifiableList(novas) : null;
+		});
+	}
+
+	@Override
+	public Map<String, List<String>> copiar() {
+		// As listas nunca são alteradas: a cópia só precisa das referências
+		return new HashMap<>(conhecimento);
+	}
+
+	/**
+	 * Respostas decodificadas de uma vez, sem passar pelo cache a cada item.
+	 */
+	private static List<String> carregar(List<String> respostas) {
+		if (respostas instanceof SnapshotJsonPreguicoso.RespostasArquivo) {
+			return ((SnapshotJsonPreguicoso.RespostasArquivo) respostas).carregar();
+		}
+		return respostas;
+	}
+}
@@ -0,0 +1,491 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache das palavras-chave candidatas de cada mensagem.
+ *
+ * Guarda, para cada mensagem normalizada, as palavras-chave empatadas com o
+ * maior score, de modo que uma mensagem repetida é respondida sem tokenização
+ * nem pontuação. As respostas continuam sendo lidas do conhecimento no momento
+ * da escolha, então editar ou acrescentar respostas não invalida o cache.
+ *
+ * Cada entrada é registrada sob os termos da sua mensagem. Quando uma
+ * palavra-chave passa a existir ou deixa de existir e a pontuação só depende
+ * dos termos em comum ({@link PontuacaoCobertura}), apenas as entradas que
+ * contêm algum termo dela são invalidadas. Com pontuações que usam o total de
+ * palavras-chave e o tamanho médio (BM25, TF-IDF), a mudança altera o peso de
+ * cada termo em proporções diferentes e todas as entradas são invalidadas.
+ *
+ * Limitação: o motor usa BM25, então a invalidação por palavra-chave só vale
+ * com a pontuação por cobertura. Com BM25, cada palavra-chave ensinada ou
+ * removida esvazia o cache, e com muitos ensinos o cache quase não acerta.
+ * Editar, acrescentar ou remover respostas de uma palavra-chave que continua
+ * existindo não invalida nada.
+ *
+ * O cache é dividido em segmentos travados separadamente, escolhidos pelo hash
+ * da mensagem. Configuração: {@code -Dchatbot.cache.tamanho} (0 desativa) e
+ * {@code -Dchatbot.cache.politica} ({@link PoliticaCache}).
+ */
+public class CacheRespostas {
+	// Mensagens mais longas não são guardadas
+	private static final int TAMANHO_MAXIMO_MENSAGEM = 256;
+	private static final int SEGMENTOS = 16;
+
+	private final int capacidade;
+	private final PoliticaCache politica;
+	private final Segmento[] segmentos;
+	// Mensagens guardadas por termo, para a invalidação
+	private final ConcurrentHashMap<String, Set<String>> mensagensPorTermo = new ConcurrentHashMap<>();
+	// Avança a cada invalidação; buscas iniciadas antes dela não são guardadas
+	private final AtomicLong versao = new AtomicLong();
+
+	private final LongAdder acertos = new LongAdder();
+	private final LongAdder falhas = new LongAdder();
+	private final LongAdder descartes = new LongAdder();
+	private final LongAdder invalidacoes = new LongAdder();
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param capacidade - quantidade máxima de mensagens (0 desativa o cache)
+	 * @param politica   - política de descarte
+	 */
+	public CacheRespostas(int capacidade, PoliticaCache politica) {
+		this.capacidade = Math.max(0, capacidade);
+		this.politica = politica;
+		int quantidade = this.capacidade >= SEGMENTOS * 16 ? SEGMENTOS : 1;
+		segmentos = new Segmento[quantidade];
+		int porSegmento = Math.max(1, this.capacidade / quantidade);
+		for (int i = 0; i < quantidade; i++) {
+			segmentos[i] = new Segmento(porSegmento, politica);
+		}
+	}
+
+	/**
+	 * Cria o cache com a configuração das propriedades do sistema.
+	 *
+	 * @return cache configurado
+	 */
+	public static CacheRespostas configurado() {
+		return new CacheRespostas(Integer.getInteger("chatbot.cache.tamanho", 10_000),
+				PoliticaCache.porNome(System.getProperty("chatbot.cache.politica"), PoliticaCache.TINY_LFU));
+	}
+
+	/**
+	 * @return falso quando o cache foi desativado
+	 */
+	public boolean isAtivo() {
+		return capacidade > 0;
+	}
+
+	/**
+	 * Versão atual do cache, a ser lida antes de buscar no índice e informada em
+	 * {@link #guardar(String, List, List, long)}.
+	 *
+	 * @return versão atual
+	 */
+	public long versao() {
+		return versao.get();
+	}
+
+	/**
+	 * Busca as palavras-chave candidatas de uma mensagem.
+	 *
+	 * @param mensagem - mensagem normalizada
+	 * @return candidatas (somente leitura), ou null quando não estão no cache
+	 */
+	public List<String> buscar(String mensagem) {
+		if (capacidade == 0) {
+			return null;
+		}
+		List<String> candidatas = segmento(mensagem).buscar(mensagem, hash(mensagem));
+		if (candidatas != null) {
+			acertos.increment();
+		} else {
+			falhas.increment();
+		}
+		return candidatas;
+	}
+
+	/**
+	 * Guarda as palavras-chave candidatas de uma mensagem.
+	 *
+	 * Nada é guardado se alguma palavra-chave foi invalidada desde a leitura da
+	 * versão, pois as candidatas podem ter sido calculadas com o índice antigo.
+	 *
+	 * @param mensagem   - mensagem normalizada
+	 * @param termos     - termos relevantes da mensagem
+	 * @param candidatas - palavras-chave com o maior score
+	 * @param versao     - versão lida antes da busca no índice
+	 */
+	public void guardar(String mensagem, List<String> termos, List<String> candidatas, long versao) {
+		if (capacidade == 0 || mensagem.length() > TAMANHO_MAXIMO_MENSAGEM || this.versao.get() != versao) {
+			return;
+		}
+		Segmento segmento = segmento(mensagem);
+		segmento.guardar(mensagem, hash(mensagem), termos.toArray(new String[0]), candidatas);
+		// Uma invalidação concorrente pode não ter visto o registro
+		if (this.versao.get() != versao) {
+			segmento.remover(mensagem);
+		}
+	}
+
+	/**
+	 * Invalida as mensagens que contêm algum termo da palavra-chave.
+	 *
+	 * Deve ser chamado depois de a palavra-chave ser incluída ou retirada do
+	 * índice.
+	 *
+	 * @param termos - termos relevantes da palavra-chave
+	 */
+	public void invalidar(List<String> termos) {
+		if (capacidade == 0) {
+			return;
+		}
+		versao.incrementAndGet();
+		for (String termo : termos) {
+			Set<String> mensagens = mensagensPorTermo.get(termo);
+			if (mensagens == null) {
+				continue;
+			}
+			for (String mensagem : new ArrayList<>(mensagens)) {
+				if (segmento(mensagem).remover(mensagem)) {
+					invalidacoes.increment();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Invalida todas as mensagens.
+	 *
+	 * Deve ser chamado depois de o índice mudar de forma que altere o score de
+	 * qualquer mensagem.
+	 */
+	public void invalidarTodas() {
+		if (capacidade == 0) {
+			return;
+		}
+		versao.incrementAndGet();
+		for (Segmento segmento : segmentos) {
+			invalidacoes.add(segmento.limpar());
+		}
+	}
+
+	/**
+	 * Descarta todas as entradas.
+	 */
+	public void limpar() {
+		versao.incrementAndGet();
+		for (Segmento segmento : segmentos) {
+			segmento.limpar();
+		}
+	}
+
+	public long getAcertos() {
+		return acertos.sum();
+	}
+
+	public long getFalhas() {
+		return falhas.sum();
+	}
+
+	/**
+	 * @return entradas descartadas por falta de espaço
+	 */
+	public long getDescartes() {
+		return descartes.sum();
+	}
+
+	/**
+	 * @return entradas removidas por alterações no conhecimento
+	 */
+	public long getInvalidacoes() {
+		return invalidacoes.sum();
+	}
+
+	/**
+	 * @return fração das buscas encontradas no cache (0 a 1)
+	 */
+	public double getTaxaAcertos() {
+		long a = acertos.sum();
+		long total = a + falhas.sum();
+		return total == 0 ? 0 : (double) a / total;
+	}
+
+	/**
+	 * @return quantidade de mensagens guardadas
+	 */
+	public int getTamanho() {
+		int tamanho = 0;
+		for (Segmento segmento : segmentos) {
+			tamanho += segmento.tamanho();
+		}
+		return tamanho;
+	}
+
+	public int getCapacidade() {
+		return capacidade;
+	}
+
+	public PoliticaCache getPolitica() {
+		return politica;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("cache %s: %d/%d entradas, %d acertos, %d falhas (%.1f%%), %d descartes, %d invalidações",
+				politica, getTamanho(), capacidade, getAcertos(), getFalhas(), getTaxaAcertos() * 100, getDescartes(),
+				getInvalidacoes());
+	}
+
+	private Segmento segmento(String mensagem) {
+		return segmentos[(hash(mensagem) >>> 16) & (segmentos.length - 1)];
+	}
+
+	private static int hash(String mensagem) {
+		int h = mensagem.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 15);
+	}
+
+	private void registrar(Entrada entrada) {
+		for (String termo : entrada.termos) {
+			mensagensPorTermo.compute(termo, (chave, mensagens) -> {
+				if (mensagens == null) {
+					mensagens = ConcurrentHashMap.newKeySet();
+				}
+				mensagens.add(entrada.mensagem);
+				return mensagens;
+			});
+		}
+	}
+
+	private void desregistrar(Entrada entrada) {
+		for (String termo : entrada.termos) {
+			mensagensPorTermo.computeIfPresent(termo, (chave, mensagens) -> {
+				mensagens.remove(entrada.mensagem);
+				return mensagens.isEmpty() ? null : mensagens;
+			});
+		}
+	}
+
+	/**
+	 * Mensagem guardada no cache.
+	 */
+	private static class Entrada {
+		final String mensagem;
+		final String[] termos;
+		final List<String> candidatas;
+
+		Entrada(String mensagem, String[] termos, List<String> candidatas) {
+			this.mensagem = mensagem;
+			this.termos = termos;
+			this.candidatas = candidatas;
+		}
+	}
+
+	/**
+	 * Parte do cache com trava própria.
+	 *
+	 * No modo LRU, usa apenas a área principal. No modo TinyLFU, novas entradas
+	 * entram na janela; a entrada que sai da janela disputa a vaga com a entrada
+	 * mais antiga da área principal e fica a que tiver maior frequência estimada.
+	 *
+	 * Uma mensagem sempre cai no mesmo segmento, então o registro dos termos é
+	 * feito com a trava do segmento, na mesma ordem da inclusão e da remoção.
+	 */
+	private class Segmento {
+		private final LinkedHashMap<String, Entrada> janela;
+		private final LinkedHashMap<String, Entrada> principal;
+		private final int capacidadeJanela;
+		private final int capacidadePrincipal;
+		private final Frequencias frequencias;
+
+		Segmento(int capacidade, PoliticaCache politica) {
+			if (politica == PoliticaCache.TINY_LFU && capacidade > 1) {
+				// Janela com 1% do segmento
+				capacidadeJanela = Math.max(1, capacidade / 100);
+				frequencias = new Frequencias(capacidade);
+			} else {
+				capacidadeJanela = 0;
+				frequencias = null;
+			}
+			capacidadePrincipal = capacidade - capacidadeJanela;
+			janela = new LinkedHashMap<>(16, 0.75f, true);
+			principal = new LinkedHashMap<>(16, 0.75f, true);
+		}
+
+		synchronized List<String> buscar(String mensagem, int hash) {
+			if (frequencias != null) {
+				frequencias.incrementar(hash);
+			}
+			Entrada entrada = principal.get(mensagem);
+			if (entrada == null && capacidadeJanela > 0) {
+				entrada = janela.get(mensagem);
+			}
+			return entrada != null ? entrada.candidatas : null;
+		}
+
+		synchronized void guardar(String mensagem, int hash, String[] termos, List<String> candidatas) {
+			Entrada nova = new Entrada(mensagem, termos, candidatas);
+			Entrada antiga = principal.remove(mensagem);
+			if (antiga == null) {
+				antiga = janela.remove(mensagem);
+			}
+			if (antiga != null) {
+				desregistrar(antiga);
+			}
+			registrar(nova);
+
+			if (capacidadeJanela == 0) {
+				principal.put(mensagem, nova);
+				if (principal.size() > capacidadePrincipal) {
+					descartar(principal);
+				}
+				return;
+			}
+
+			janela.put(mensagem, nova);
+			if (janela.size() <= capacidadeJanela) {
+				return;
+			}
+			// A entrada mais antiga da janela disputa a área principal
+			Iterator<Entrada> itJanela = janela.values().iterator();
+			Entrada candidata = itJanela.next();
+			itJanela.remove();
+			if (principal.size() < capacidadePrincipal) {
+				principal.put(candidata.mensagem, candidata);
+				return;
+			}
+			Iterator<Entrada> itPrincipal = principal.values().iterator();
+			Entrada vitima = itPrincipal.next();
+			if (frequencias.estimar(hash(candidata.mensagem)) > frequencias.estimar(hash(vitima.mensagem))) {
+				itPrincipal.remove();
+				principal.put(candidata.mensagem, candidata);
+				desregistrar(vitima);
+			} else {
+				desregistrar(candidata);
+			}
+			descartes.increment();
+		}
+
+		synchronized boolean remover(String mensagem) {
+			Entrada entrada = principal.remove(mensagem);
+			if (entrada == null) {
+				entrada = janela.remove(mensagem);
+			}
+			if (entrada == null) {
+				return false;
+			}
+			desregistrar(entrada);
+			return true;
+		}
+
+		/**
+		 * @return quantidade de entradas descartadas
+		 */
+		synchronized int limpar() {
+			int quantidade = principal.size() + janela.size();
+			for (Entrada entrada : principal.values()) {
+				desregistrar(entrada);
+			}
+			for (Entrada entrada : janela.values()) {
+				desregistrar(entrada);
+			}
+			principal.clear();
+			janela.clear();
+			return quantidade;
+		}
+
+		synchronized int tamanho() {
+			return principal.size() + janela.size();
+		}
+
+		private void descartar(LinkedHashMap<String, Entrada> area) {
+			Iterator<Map.Entry<String, Entrada>> it = area.entrySet().iterator();
+			Entrada antiga = it.next().getValue();
+			it.remove();
+			desregistrar(antiga);
+			descartes.increment();
+		}
+	}
+
+	/**
+	 * Estimativa de frequência das mensagens (count-min sketch).
+	 *
+	 * Contadores de 4 bits, 16 por long, consultados por 4 funções de hash. As
+	 * contagens são divididas por 2 a cada {@code 10 * capacidade} incrementos,
+	 * para que mensagens que deixaram de ser frequentes percam a vaga.
+	 */
+	private static class Frequencias {
+		private static final long[] SEMENTES = { 0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL,
+				0xCBF29CE484222325L };
+		private static final long METADE = 0x7777777777777777L;
+
+		private final long[] tabela;
+		private final int mascara;
+		private final int amostra;
+		private int incrementos;
+
+		Frequencias(int capacidade) {
+			int tamanho = Integer.highestOneBit(Math.max(2, capacidade - 1)) << 1;
+			tabela = new long[tamanho];
+			mascara = tamanho - 1;
+			amostra = 10 * Math.max(1, capacidade);
+		}
+
+		int estimar(int hash) {
+			int menor = 15;
+			for (int i = 0; i < 4; i++) {
+				menor = Math.min(menor, contador(hash, i));
+			}
+			return menor;
+		}
+
+		void incrementar(int hash) {
+			boolean incrementou = false;
+			for (int i = 0; i < 4; i++) {
+				int posicao = posicao(hash, i);
+				int deslocamento = deslocamento(hash, i);
+				if (((tabela[posicao] >>> deslocamento) & 0xF) < 15) {
+					tabela[posicao] += 1L << deslocamento;
+					incrementou = true;
+				}
+			}
+			if (incrementou && ++incrementos == amostra) {
+				envelhecer();
+			}
+		}
+
+		private void envelhecer() {
+			for (int i = 0; i < tabela.length; i++) {
+				tabela[i] = (tabela[i] >>> 1) & METADE;
+			}
+			incrementos /= 2;
+		}
+
+		private int contador(int hash, int i) {
+			return (int) ((tabela[posicao(hash, i)] >>> deslocamento(hash, i)) & 0xF);
+		}
+
+		private int posicao(int hash, int i) {
+			long h = (hash + SEMENTES[i]) * SEMENTES[i];
+			h += h >>> 32;
+			return (int) h & mascara;
+		}
+
+		// Cada função usa um contador diferente dentro do long
+		private static int deslocamento(int hash, int i) {
+			return ((((hash >>> (i << 3)) & 3) << 2) + i) << 2;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comandos e expressões reconhecidos nas mensagens.
+ *
+ * Cada grupo de comandos é reconhecido por um {@link AutomatoFrases} montado
+ * uma única vez, que encontra o comando em uma única passada pela mensagem
+ * normalizada e apenas como palavra inteira ("oi" não é encontrado em
+ * "noite"). Dentro de um grupo, a ordem das constantes é a prioridade quando a
+ * mensagem contém mais de um comando.
+ */
+public enum Comando {
+	// Comandos especiais da conversa
+	SAIR("sair", "exit"),
+	ENSINAR("ensinar"),
+	AJUDA("ajuda", "help"),
+	LISTAR("listar", "conhecimento"),
+	METRICAS("metricas"),
+	EDITAR("editar", "edit"),
+	REMOVER("esquecer", "remover"),
+
+	// Cortesias respondidas pelo motor
+	SAUDACAO("oi", "ola", "hey"),
+	AGRADECIMENTO("obrigado"),
+
+	// Confirmações
+	SIM("sim", "s"),
+	NAO("nao", "n");
+
+	private static final AutomatoFrases<Comando> ESPECIAIS = automato(SAIR, REMOVER);
+	private static final AutomatoFrases<Comando> CORTESIAS = automato(SAUDACAO, AGRADECIMENTO);
+	private static final AutomatoFrases<Comando> CONFIRMACOES = automato(SIM, NAO);
+
+	private final String[] frases;
+
+	private Comando(String... frases) {
+		this.frases = frases;
+	}
+
+	/**
+	 * Comando especial presente na mensagem.
+	 *
+	 * @param mensagem - mensagem normalizada
+	 * @return comando de maior prioridade, ou null se nenhum
+	 */
+	public static Comando especial(String mensagem) {
+		return ESPECIAIS.buscar(mensagem);
+	}
+
+	/**
+	 * Saudação ou agradecimento presente na mensagem.
+	 *
+	 * @param mensagem - mensagem normalizada
+	 * @return {@link #SAUDACAO}, {@link #AGRADECIMENTO} ou null
+	 */
+	public static Comando cortesia(String mensagem) {
+		return CORTESIAS.buscar(mensagem);
+	}
+
+	/**
+	 * Resposta a uma pergunta de sim ou não.
+	 *
+	 * @param mensagem - resposta normalizada
+	 * @return {@link #SIM}, {@link #NAO} ou null se não reconhecida
+	 */
+	public static Comando confirmacao(String mensagem) {
+		return CONFIRMACOES.buscar(mensagem);
+	}
+
+	/**
+	 * Monta o autômato com as frases das constantes do intervalo.
+	 */
+	private static AutomatoFrases<Comando> automato(Comando primeiro, Comando ultimo) {
+		List<String> frases = new ArrayList<>();
+		List<Comando> valores = new ArrayList<>();
+		for (Comando comando : values()) {
+			if (comando.ordinal() >= primeiro.ordinal() && comando.ordinal() <= ultimo.ordinal()) {
+				for (String frase : comando.frases) {
+					frases.add(frase);
+					valores.add(comando);
+				}
+			}
+		}
+		return new AutomatoFrases<>(frases, valores);
+	}
+}
@@ -0,0 +1,253 @@
+package entities;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diário de alterações do conhecimento (write-ahead log).
+ *
+ * Cada operação de ensinar, editar ou remover é anexada ao final do arquivo em
+ * uma linha, de forma que o custo de gravação seja proporcional à alteração e
+ * não ao tamanho do conhecimento. Na carga, o diário é reaplicado sobre o
+ * último snapshot.
+ *
+ * A ida ao disco (fsync) segue a {@link PoliticaDurabilidade} configurada: a
+ * cada gravação, em grupo a cada intervalo ou nunca.
+ *
+ * @see OperacaoConhecimento
+ */
+public class DiarioConhecimento {
+	private final File arquivo;
+	private FileChannel canal;
+	private long tamanho;
+	private boolean interrompido = false;
+
+	private final PoliticaDurabilidade politica;
+	private final MetricasPersistencia metricas;
+	private boolean pendenteSincronizar = false;
+	private ScheduledExecutorService agendador;
+
+	/**
+	 * Construtor para leitura do diário, sem política de gravação.
+	 *
+	 * @param arquivo - arquivo do diário
+	 */
+	public DiarioConhecimento(File arquivo) {
+		this(arquivo, PoliticaDurabilidade.NUNCA, 0, new MetricasPersistencia());
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param arquivo     - arquivo do diário
+	 * @param politica    - política de durabilidade das gravações
+	 * @param intervaloMs - intervalo entre sincronizações da política em grupo
+	 *                    (positivo)
+	 * @param metricas    - métricas de gravação
+	 */
+	public DiarioConhecimento(File arquivo, PoliticaDurabilidade politica, long intervaloMs,
+			MetricasPersistencia metricas) {
+		this.arquivo = arquivo;
+		this.tamanho = arquivo.length();
+		this.politica = politica;
+		this.metricas = metricas;
+
+		// Sincronização periódica das gravações em grupo
+		if (politica == PoliticaDurabilidade.EM_GRUPO) {
+			agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+				Thread thread = new Thread(tarefa, "chatbot-diario-fsync");
+				thread.setDaemon(true);
+				return thread;
+			});
+			agendador.scheduleWithFixedDelay(this::sincronizarAgendado, intervaloMs, intervaloMs,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Anexa operações ao final do diário.
+	 *
+	 * @param operacoes - operações em ordem de execução
+	 * @throws IOException - Erro na escrita
+	 */
+	public synchronized void anexar(List<OperacaoConhecimento> operacoes) throws IOException {
+		StringBuilder linhas = new StringBuilder();
+		for (OperacaoConhecimento operacao : operacoes) {
+			linhas.append(operacao.paraLinha());
+		}
+
+		long inicio = System.nanoTime();
+		ByteBuffer dados = ByteBuffer.wrap(linhas.toString().getBytes(StandardCharsets.UTF_8));
+		FileChannel canal = abrir();
+		while (dados.hasRemaining()) {
+			tamanho += canal.write(dados);
+		}
+
+		// Aplica a política de durabilidade
+		if (politica == PoliticaDurabilidade.SEMPRE) {
+			canal.force(false);
+			metricas.registrarSincronizacao();
+		} else if (politica == PoliticaDurabilidade.EM_GRUPO) {
+			pendenteSincronizar = true;
+		}
+		metricas.registrarDiario(dados.capacity(), System.nanoTime() - inicio);
+	}
+
+	/**
+	 * Força ao disco as gravações ainda não sincronizadas.
+	 *
+	 * @throws IOException - Erro na sincronização
+	 */
+	public synchronized void sincronizar() throws IOException {
+		if (pendenteSincronizar && canal != null) {
+			canal.force(false);
+			metricas.registrarSincronizacao();
+		}
+		pendenteSincronizar = false;
+	}
+
+	/**
+	 * Tamanho atual do diário em bytes.
+	 *
+	 * @return tamanho do arquivo
+	 */
+	public synchronized long tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Move o diário atual para outro arquivo e recomeça vazio.
+	 *
+	 * Usado na compactação: as operações já gravadas seguem no arquivo de destino
+	 * até o snapshot ser concluído, enquanto as novas vão para um diário limpo.
+	 *
+	 * @param destino - arquivo que receberá o diário atual
+	 * @throws IOException - Erro ao mover o arquivo
+	 */
+	public synchronized void rotacionar(File destino) throws IOException {
+		fechar();
+		if (arquivo.exists() && !arquivo.renameTo(destino)) {
+			throw new IOException("Não foi possível mover o diário para " + destino);
+		}
+		tamanho = 0;
+	}
+
+	/**
+	 * Apaga o diário.
+	 *
+	 * @throws IOException - Erro ao apagar o arquivo
+	 */
+	public synchronized void limpar() throws IOException {
+		fechar();
+		if (arquivo.exists() && !arquivo.delete()) {
+			throw new IOException("Não foi possível apagar o diário " + arquivo);
+		}
+		tamanho = 0;
+	}
+
+	/**
+	 * Fecha o canal de escrita, se aberto.
+	 *
+	 * @throws IOException - Erro ao fechar o arquivo
+	 */
+	public synchronized void fechar() throws IOException {
+		if (canal != null) {
+			sincronizar();
+			canal.close();
+			canal = null;
+		}
+	}
+
+	/**
+	 * Fecha o canal e para a sincronização periódica.
+	 *
+	 * O diário não deve mais receber operações.
+	 *
+	 * @throws IOException - Erro ao fechar o arquivo
+	 */
+	public synchronized void encerrar() throws IOException {
+		if (agendador != null) {
+			agendador.shutdown();
+		}
+		fechar();
+	}
+
+	/**
+	 * Reaplica as operações do diário sobre o conhecimento.
+	 *
+	 * Uma linha incompleta no final (gravação interrompida) encerra a leitura
+	 * sem descartar as operações anteriores.
+	 *
+	 * @param conhecimento - conhecimento a ser atualizado
+	 * @return quantidade de operações reaplicadas
+	 * @see #interrompido()
+	 */
+	public synchronized int reaplicar(Map<String, List<String>> conhecimento) {
+		interrompido = false;
+		if (!arquivo.exists()) {
+			return 0;
+		}
+
+		int quantidade = 0;
+		try (LeitorJson leitor = new LeitorJson(
+				new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8))) {
+			while (!leitor.fimDocumento()) {
+				OperacaoConhecimento.ler(leitor).aplicar(conhecimento);
+				quantidade++;
+			}
+		} catch (IOException e) {
+			interrompido = true;
+			System.out.printf("Chatbot: Diário interrompido após %d operação(ões): %s%n", quantidade,
+					e.getMessage());
+		}
+		return quantidade;
+	}
+
+	/**
+	 * Indica se a última reaplicação parou em uma linha inválida.
+	 *
+	 * Nesse caso o diário precisa ser compactado antes de receber novas
+	 * operações.
+	 *
+	 * @return verdadeiro quando o diário está corrompido no final
+	 */
+	public synchronized boolean interrompido() {
+		return interrompido;
+	}
+
+	/**
+	 * Verifica se o diário possui operações gravadas.
+	 *
+	 * @return verdadeiro quando o arquivo existe
+	 */
+	public synchronized boolean existe() {
+		return arquivo.exists();
+	}
+
+	private void sincronizarAgendado() {
+		try {
+			sincronizar();
+		} catch (IOException e) {
+			System.out.println("Erro ao sincronizar diário: " + e.getMessage());
+		}
+	}
+
+	private FileChannel abrir() throws IOException {
+		if (canal == null) {
+			canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+		}
+		return canal;
+	}
+}
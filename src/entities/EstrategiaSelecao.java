@@ -0,0 +1,38 @@
+package entities;
+
+import java.util.List;
+
+/**
+ * Estratégia de escolha das respostas do chatbot.
+ *
+ * Decide qual resposta usar entre as opções disponíveis: respostas de uma
+ * palavra-chave, palavras-chave empatadas, saudações, despedidas e respostas
+ * padrão. Cada sessão de conversa pode ter a sua, sem disputar um gerador
+ * aleatório compartilhado.
+ *
+ * @see TipoSelecao
+ */
+public interface EstrategiaSelecao {
+
+	/**
+	 * Escolhe uma posição entre as opções.
+	 *
+	 * @param quantidade - quantidade de opções (maior que zero)
+	 * @return posição escolhida, de 0 a quantidade - 1
+	 */
+	int sortear(int quantidade);
+
+	/**
+	 * Escolhe uma das respostas de uma palavra-chave.
+	 *
+	 * Por padrão sorteia; estratégias com memória podem alternar as respostas
+	 * de cada palavra-chave.
+	 *
+	 * @param palavraChave - palavra-chave escolhida
+	 * @param respostas    - respostas da palavra-chave (não vazia)
+	 * @return resposta escolhida
+	 */
+	default String escolherResposta(String palavraChave, List<String> respostas) {
+		return respostas.get(sortear(respostas.size()));
+	}
+}
@@ -1,17 +1,62 @@
 package entities;
 
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
 public class FileManager {
-	private String CAMINHO_CONHECIMENTO = "src/data/conhecimento.json";
+	// Diretório dos arquivos de conhecimento
+	private String DIRETORIO_DADOS = System.getProperty("chatbot.dados", "src/data");
+	private String CAMINHO_CONHECIMENTO = DIRETORIO_DADOS + "/conhecimento.json";
+	// Tamanho médio estimado de uma palavra-chave com suas respostas no JSON
+	private static final int BYTES_POR_PALAVRA_CHAVE = 256;
+	
+	// Snapshot binário gravado junto do JSON para acelerar a carga
+	private String CAMINHO_BINARIO = DIRETORIO_DADOS + "/conhecimento.bin";
+	// Cópias dos snapshots mapeados em memória, nunca substituídas pela gravação
+	private static final String SUFIXO_CARGA = ".carga";
+	private boolean snapshotBinario = Boolean.parseBoolean(System.getProperty("chatbot.snapshot.binario", "true"));
+	
+	// Carga preguiçosa: respostas lidas do JSON só quando usadas
+	private boolean cargaPreguicosa = "preguicosa".equalsIgnoreCase(System.getProperty("chatbot.carga", "").trim());
+	private int tamanhoCacheCarga = Integer.getInteger("chatbot.carga.cache", 1024);
+	
+	// Diário de alterações e limite para compactação no snapshot
+	private String CAMINHO_DIARIO = DIRETORIO_DADOS + "/conhecimento.diario";
+	private static final long LIMITE_DIARIO_PADRAO = 1024 * 1024;
+	private long limiteDiario = Long.getLong("chatbot.diario.limite", LIMITE_DIARIO_PADRAO);
+	
+	// Política de durabilidade (fsync) e métricas de gravação
+	private PoliticaDurabilidade politica = PoliticaDurabilidade.porNome(
+			System.getProperty("chatbot.durabilidade"), PoliticaDurabilidade.EM_GRUPO);
+	private long intervaloSincronizacao = Math.max(1, Long.getLong("chatbot.durabilidade.intervalo", 1000));
+	private MetricasPersistencia metricas = new MetricasPersistencia();
+	
+	private DiarioConhecimento diario = new DiarioConhecimento(new File(CAMINHO_DIARIO), politica,
+			intervaloSincronizacao, metricas);
+	private File arquivoCompactando = new File(CAMINHO_DIARIO + ".compactando");
+	
+	// Gravação em segundo plano e tempo máximo de espera no encerramento
+	private static final long ESPERA_ENCERRAMENTO_MS = 30_000;
+	private GravadorConhecimento gravador = new GravadorConhecimento(this, diario, arquivoCompactando, limiteDiario);
 	
 	/**
 	 * Verifica diretorio existente
@@ -30,165 +75,503 @@ public class FileManager {
 		}
 	}
 	
+	/**
+	 * Escrita de um arquivo a partir de um fluxo de saída.
+	 */
+	private interface Escrita {
+		void escrever(OutputStream saida) throws IOException;
+	}
+	
 	/**
 	 * Salva o conhecimento do chatbot.
 	 * 
 	 * O arquivo padrão do conhecimento é JSON. Realiza configuração para o formato
-	 * JSON da base de conhecimento do chatbot
+	 * JSON da base de conhecimento do chatbot. Em seguida grava também o
+	 * snapshot binário, usado para acelerar a carga.
+	 * 
+	 * @param conhecimento - conhecimento a ser gravado
+	 * @return verdadeiro quando o snapshot foi gravado
+	 * @see SnapshotBinario
 	 */
-	public void salvarConhecimento(Map<String, List<String>> conhecimento) {
+	public boolean salvarConhecimento(Map<String, List<String>> conhecimento) {
 		verificarDiretorio(); // Verifica o diretório antes de salvar o arquivo
-		StringBuilder json = new StringBuilder();
 		
+		try {
+			gravarAtomicamente(new File(CAMINHO_CONHECIMENTO).toPath(), saida -> {
+				Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+				escreverJson(conhecimento, writer);
+				writer.flush();
+			});
+			
+			// Gravado depois do JSON, para ser o arquivo mais novo
+			if (snapshotBinario) {
+				gravarAtomicamente(new File(CAMINHO_BINARIO).toPath(),
+						saida -> SnapshotBinario.escrever(conhecimento, saida));
+			}
+			return true;
+		}catch (IOException e) {
+			System.out.println("Erro ao salvar: " + e.getMessage());
+			return false;
+		}
+	}
+	
+	/**
+	 * Grava um arquivo de forma atômica.
+	 * 
+	 * O conteúdo é gravado em um arquivo temporário, forçado ao disco conforme a
+	 * política de durabilidade e só então renomeado sobre o arquivo final de
+	 * forma atômica. Uma queda durante a gravação preserva o arquivo anterior.
+	 * 
+	 * @param destino - arquivo final
+	 * @param escrita - conteúdo a ser gravado
+	 * @throws IOException - Erro na escrita
+	 */
+	private void gravarAtomicamente(Path destino, Escrita escrita) throws IOException {
+		long inicio = System.nanoTime();
+		// Temporário no mesmo diretório, para que a troca de nomes seja atômica
+		Path temporario = destino.resolveSibling(destino.getFileName() + "." + System.nanoTime() + ".tmp");
+		
+		try {
+			// Escreve no arquivo temporário
+			try (FileOutputStream saida = new FileOutputStream(temporario.toFile())){
+				escrita.escrever(saida);
+				saida.flush();
+				if (politica != PoliticaDurabilidade.NUNCA) {
+					saida.getChannel().force(true);
+					metricas.registrarSincronizacao();
+				}
+			}
+			
+			long bytes = Files.size(temporario);
+			substituirAtomicamente(temporario, destino);
+			metricas.registrarSnapshot(bytes, System.nanoTime() - inicio);
+		}catch (IOException e) {
+			apagarTemporario(temporario);
+			throw e;
+		}
+	}
+	
+	/**
+	 * Renomeia o arquivo temporário sobre o destino.
+	 * 
+	 * Usa movimento atômico quando o sistema de arquivos permite e, em seguida,
+	 * sincroniza o diretório para persistir a troca de nomes.
+	 * 
+	 * @param temporario - arquivo gravado
+	 * @param destino - arquivo final
+	 * @throws IOException - Erro ao mover o arquivo
+	 */
+	private void substituirAtomicamente(Path temporario, Path destino) throws IOException {
+		try {
+			Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING);
+		}
+		
+		if (politica != PoliticaDurabilidade.NUNCA) {
+			// Nem todo sistema permite abrir diretórios para sincronização
+			try (FileChannel diretorio = FileChannel.open(destino.toAbsolutePath().getParent(),
+					StandardOpenOption.READ)){
+				diretorio.force(true);
+			}catch (IOException e) {
+				// Troca de nomes fica a cargo do sistema operacional
+			}
+		}
+	}
+	
+	private void apagarTemporario(Path temporario) {
+		if (temporario != null) {
+			try {
+				Files.deleteIfExists(temporario);
+			}catch (IOException e) {
+				System.out.println("Erro ao apagar temporário: " + e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * Métricas de gravação do conhecimento.
+	 * 
+	 * @return latência e bytes gravados de snapshots e diário
+	 */
+	public MetricasPersistencia getMetricas() {
+		return metricas;
+	}
+	
+	/**
+	 * Indica se as respostas são carregadas sob demanda
+	 * ({@code -Dchatbot.carga=preguicosa}).
+	 * 
+	 * @return verdadeiro na carga preguiçosa
+	 * @see SnapshotJsonPreguicoso
+	 */
+	public boolean isCargaPreguicosa() {
+		return cargaPreguicosa;
+	}
+	
+	/**
+	 * Escreve o conhecimento no formato JSON
+	 * 
+	 * Cada palavra-chave ocupa uma linha, com suas respostas em uma lista.
+	 * 
+	 * @param conhecimento - conhecimento a ser escrito
+	 * @param writer - destino do conteúdo
+	 * @throws IOException - Erro na escrita
+	 */
+	public void escreverJson(Map<String, List<String>> conhecimento, Writer writer) throws IOException {
 		// Define inicio do arquivo;
-		json.append("{");
+		writer.write("{");
 		
 		int temp = 1;
 		// Itera sobre cada palavra-chave e suas respostas
-		for (String con: conhecimento.keySet()) {
+		for (Map.Entry<String, List<String>> con: conhecimento.entrySet()) {
 			// Palavra-chave
-			json.append("\n\"" + con + "\": [");
-			// Verifica quantidade de respostas da palavra-chave
-			if (conhecimento.get(con).size() == 1) {
-				json.append("\"" + conhecimento.get(con).get(0) + "\"");
-			}else {
-				// Itera sobre respostas menos a última da lista
-				for (int i = 0; i < conhecimento.get(con).size() - 1; i++) {
-					// Adiciona resposta com vírgula
-					json.append("\"" + conhecimento.get(con).get(i) + "\",");
+			writer.write("\n");
+			escreverString(con.getKey(), writer);
+			writer.write(": [");
+			
+			// Adiciona respostas separadas por vírgula
+			List<String> respostas = con.getValue();
+			for (int i = 0; i < respostas.size(); i++) {
+				if (i > 0) {
+					writer.write(",");
 				}
-				// Adiciona última resposta
-				json.append("\"" + conhecimento.get(con).get(conhecimento.get(con).size() - 1) + "\"");
+				escreverString(respostas.get(i), writer);
 			}
 			
 			// Verifica quantidade de palavras-chave
 			if (temp < conhecimento.size()) {
 				// Adiciona vírgula no final das respostas
-				json.append("],");
+				writer.write("],");
 			}else {
 				// Final das respostas sem vírgula
-				json.append("]");
+				writer.write("]");
 			}
 			
 			temp++;
 		}
 		
-		json.append("\n}");
-		
-		// Escreve no arquivo
-		try (FileWriter writer = new FileWriter(CAMINHO_CONHECIMENTO)){
-			writer.write(json.toString());
-		}catch (IOException e) {
-			System.out.println("Erro ao salvar: " + e.getMessage());
+		writer.write("\n}");
+	}
+	
+	/**
+	 * Escreve uma string JSON, escapando aspas, barras e caracteres de controle
+	 * 
+	 * @param valor - texto original
+	 * @param writer - destino do conteúdo
+	 * @throws IOException - Erro na escrita
+	 */
+	public static void escreverString(String valor, Writer writer) throws IOException {
+		writer.write('"');
+		for (int i = 0; i < valor.length(); i++) {
+			char c = valor.charAt(i);
+			switch (c) {
+			case '"':
+				writer.write("\\\"");
+				break;
+			case '\\':
+				writer.write("\\\\");
+				break;
+			case '\n':
+				writer.write("\\n");
+				break;
+			case '\r':
+				writer.write("\\r");
+				break;
+			case '\t':
+				writer.write("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					writer.write(String.format("\\u%04x", (int) c));
+				} else {
+					writer.write(c);
+				}
+			}
+		}
+		writer.write('"');
+	}
+	
+	/**
+	 * Registra uma alteração do conhecimento.
+	 * 
+	 * @param operacao - alteração realizada
+	 * @return falso se a persistência já foi encerrada e nada foi registrado
+	 * @see #registrarOperacoes(List)
+	 */
+	public boolean registrarOperacao(OperacaoConhecimento operacao) {
+		return registrarOperacoes(Collections.singletonList(operacao));
+	}
+	
+	/**
+	 * Registra alterações do conhecimento no diário.
+	 * 
+	 * As operações são enviadas ao gravador em segundo plano, que as agrupa e
+	 * anexa ao final do diário, sem reescrever o snapshot e sem bloquear a
+	 * conversa. A ordem de envio é a ordem de gravação.
+	 * 
+	 * @param operacoes - alterações realizadas, em ordem
+	 * @return falso se a persistência já foi encerrada e nada foi registrado
+	 * @see #compactacaoNecessaria()
+	 */
+	public boolean registrarOperacoes(List<OperacaoConhecimento> operacoes) {
+		if (operacoes.isEmpty()) {
+			return true;
+		}
+		verificarDiretorio(); // Verifica o diretório antes de salvar o arquivo
+		return gravador.enviar(operacoes);
+	}
+
+	/**
+	 * Indica se a persistência foi encerrada (saída do chat ou desligamento da
+	 * JVM) e não aceita mais alterações.
+	 *
+	 * @return verdadeiro depois de {@link #encerrar()}
+	 */
+	public boolean isEncerrado() {
+		return gravador.isEncerrado();
+	}
+	
+	/**
+	 * Indica se o diário passou do limite configurado (ou falhou) e deve ser
+	 * compactado em um snapshot completo.
+	 * 
+	 * @return verdadeiro quando a compactação deve ser iniciada
+	 * @see #iniciarCompactacao(Map)
+	 */
+	public boolean compactacaoNecessaria() {
+		return gravador.compactacaoNecessaria();
+	}
+	
+	/**
+	 * Compacta o diário no snapshot em segundo plano.
+	 * 
+	 * Operações registradas antes da chamada entram no snapshot; as posteriores
+	 * seguem para o diário novo. Por isso a cópia deve refletir exatamente as
+	 * operações já registradas.
+	 * 
+	 * @param copia - cópia do conhecimento, que não será mais alterada
+	 */
+	public void iniciarCompactacao(Map<String, List<String>> copia) {
+		gravador.solicitarSnapshot(copia);
+	}
+	
+	/**
+	 * Grava as alterações pendentes e encerra o gravador.
+	 * 
+	 * Chamado ao sair do chat e no desligamento da JVM. Chamadas repetidas não
+	 * têm efeito.
+	 */
+	public void encerrar() {
+		if (!gravador.encerrar(ESPERA_ENCERRAMENTO_MS)) {
+			System.out.println("Chatbot: Tempo esgotado ao gravar o conhecimento!");
 		}
 	}
 	
  	/**
  	 * Carrega conhecimento do arquivo JSON
  	 * 
- 	 * Verifica a existencia do arquivo com o conhecimento base, caso contrário inicia com
- 	 * conhecimento vazio.
+ 	 * Lê o último snapshot e reaplica as alterações registradas no diário.
+ 	 * Informa a quantidade de palavras-chave e o tempo de carga.
  	 * 
+ 	 * @return conhecimento carregado
  	 */
 	public Map<String, List<String>> carregarConhecimento() {
-		// Instancia do arquivo
-		File arquivo = new File(CAMINHO_CONHECIMENTO);
+		long inicio = System.nanoTime();
+		Map<String, List<String>> conhecimento = carregarSnapshot();
+		
+		// Reaplica alterações gravadas após o snapshot
+		DiarioConhecimento pendente = new DiarioConhecimento(arquivoCompactando);
+		int operacoes = pendente.reaplicar(conhecimento) + diario.reaplicar(conhecimento);
+		
+		String detalhe = operacoes > 0 ? String.format(" (%d alteração(ões) do diário)", operacoes) : "";
+		System.out.printf("Chatbot: %d palavra(s)-chave(s) carregada(s) em %d ms%s%n", conhecimento.size(),
+				(System.nanoTime() - inicio) / 1_000_000, detalhe);
+		
+		// Compactação interrompida, diário corrompido no final ou acima do limite
+		if (pendente.existe() || pendente.interrompido() || diario.interrompido()
+				|| diario.tamanho() >= limiteDiario) {
+			iniciarCompactacao(copiar(conhecimento));
+		}
+		return conhecimento;
+	}
+	
+	private static Map<String, List<String>> copiar(Map<String, List<String>> conhecimento) {
+		Map<String, List<String>> copia = new HashMap<>(conhecimento.size() * 4 / 3 + 1);
+		for (Map.Entry<String, List<String>> entrada: conhecimento.entrySet()) {
+			copia.put(entrada.getKey(), new ArrayList<>(entrada.getValue()));
+		}
+		return copia;
+	}
+	
+ 	/**
+ 	 * Carrega o snapshot mais recente
+ 	 * 
+ 	 * Escolhe entre o JSON e o binário o arquivo mais novo. Se ele estiver
+ 	 * inválido, tenta o outro. Sem nenhum arquivo, inicia com conhecimento vazio.
+ 	 * 
+ 	 * @return conhecimento do snapshot
+ 	 */
+	private Map<String, List<String>> carregarSnapshot() {
+		// Instancia dos arquivos
+		File json = new File(CAMINHO_CONHECIMENTO);
+		File binario = new File(CAMINHO_BINARIO);
 		
 		// Verifica se arquivo existe
-		if (!arquivo.exists()) {
+		if (!json.exists() && !binario.exists()) {
 			System.out.println("Chatbot: Conhecimento vazio, iniciando do zero!");
 			return new HashMap<>();
 		}
 		
-		try {
-			// Coleta dados do arquivo
-			String jsonContent = lerArquivo(arquivo);
-			// Verifica dados vazios
-			if (!jsonContent.trim().isEmpty()) {
-				// Análise de conteúdo
-				return analiseJson(jsonContent);
+		// Cópias de cargas anteriores que o sistema não deixou apagar
+		apagarCopiasCarga();
+		
+		// Em caso de empate, o binário é preferido por ser gravado depois do JSON
+		boolean binarioPrimeiro = binario.exists() && binario.lastModified() >= json.lastModified();
+		Map<String, List<String>> conhecimento = binarioPrimeiro ? carregarBinario(binario) : carregarJson(json);
+		
+		// Arquivo mais novo inválido: tenta o outro
+		if (conhecimento == null) {
+			File alternativo = binarioPrimeiro ? json : binario;
+			if (alternativo.exists()) {
+				conhecimento = binarioPrimeiro ? carregarJson(json) : carregarBinario(binario);
 			}
+		}
+		return conhecimento != null ? conhecimento : new HashMap<>();
+	}
+	
+	/**
+	 * Carrega o snapshot binário
+	 * 
+	 * @param arquivo - snapshot binário
+	 * @return conhecimento ou null se o arquivo estiver inválido
+	 */
+	private Map<String, List<String>> carregarBinario(File arquivo) {
+		File copia = null;
+		try {
+			copia = copiarParaCarga(arquivo);
+			return SnapshotBinario.ler(copia);
 		}catch (IOException e) {
-			System.out.println("Chatbot: Erro ao carregar conhecimento: " + e.getMessage());
+			System.out.println("Chatbot: Snapshot binário ignorado: " + e.getMessage());
+			return null;
+		}finally {
+			apagarCopiaCarga(copia);
 		}
-		
-		return new HashMap<>();
 	}
 	
- 	/**
- 	 * Realiza leitura do arquivo JSON
- 	 * 
- 	 * Adiciona todo o conteúdo do arquivo em um StringBuilder
- 	 * 
- 	 * @param arquivo - para leitura e tratamento dos dados
- 	 * @return String em formato JSON
- 	 * @throws IOException - Erro na leitura
- 	 */
-	private String lerArquivo(File arquivo) throws IOException {
-		StringBuilder content = new StringBuilder();
-		
-		try (BufferedReader reader = new BufferedReader(new FileReader(arquivo))){// Lê o arquivo
-			String linha;
-			// Verifica linha vazia
-			while ((linha = reader.readLine()) != null) {
-				// Adiciona conteúdo da linha
-				content.append(linha).append("\n");
+	/**
+	 * Copia o snapshot para ser mapeado em memória
+	 * 
+	 * O conhecimento carregado mantém o arquivo mapeado enquanto o processo
+	 * roda, e a compactação substitui o snapshot pelo mesmo nome. Alguns
+	 * sistemas (como o Windows) não substituem nem apagam um arquivo mapeado, o
+	 * que faria toda compactação falhar. O mapeamento usa então uma cópia que a
+	 * gravação nunca toca.
+	 * 
+	 * @param arquivo - snapshot a ser carregado
+	 * @return cópia do snapshot
+	 * @throws IOException - Erro na cópia
+	 */
+	private File copiarParaCarga(File arquivo) throws IOException {
+		Path copia = arquivo.toPath().resolveSibling(arquivo.getName() + "." + System.nanoTime() + SUFIXO_CARGA);
+		try {
+			Files.copy(arquivo.toPath(), copia);
+		}catch (IOException e) {
+			apagarTemporario(copia);
+			throw e;
+		}
+		return copia.toFile();
+	}
+	
+	/**
+	 * Apaga a cópia de carga depois do mapeamento
+	 * 
+	 * Onde o sistema permite, o mapeamento continua válido sem o nome do
+	 * arquivo. Nos demais, a cópia fica até a próxima carga.
+	 * 
+	 * @param copia - cópia do snapshot ou null
+	 */
+	private void apagarCopiaCarga(File copia) {
+		if (copia != null) {
+			copia.delete();
+		}
+	}
+	
+	private void apagarCopiasCarga() {
+		File[] copias = new File(DIRETORIO_DADOS).listFiles((diretorio, nome) -> nome.endsWith(SUFIXO_CARGA));
+		if (copias != null) {
+			for (File copia : copias) {
+				// Ainda mapeada por outro processo: fica para depois
+				copia.delete();
 			}
+		}
+	}
+	
+	/**
+	 * Carrega o snapshot do arquivo JSON
+	 * 
+	 * @param arquivo - snapshot JSON
+	 * @return conhecimento ou null se o arquivo estiver inválido
+	 */
+	private Map<String, List<String>> carregarJson(File arquivo) {
+		// Indexa só as palavras-chave; as respostas ficam no arquivo
+		// O mapeamento usa uma cópia, pois a compactação substitui o JSON
+		if (cargaPreguicosa) {
+			File copia = null;
+			try {
+				copia = copiarParaCarga(arquivo);
+				return SnapshotJsonPreguicoso.ler(copia, tamanhoCacheCarga);
+			}catch (IOException e) {
+				System.out.println("Chatbot: Erro ao carregar conhecimento: " + e.getMessage());
+				return null;
+			}finally {
+				apagarCopiaCarga(copia);
+			}
+		}
+		// Lê e analisa o arquivo em uma única passada
+		try (LeitorJson leitor = new LeitorJson(
+				new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8))){
+			// Estima a capacidade do mapa pelo tamanho do arquivo
+			int capacidade = (int) Math.min(Integer.MAX_VALUE / 2, arquivo.length() / BYTES_POR_PALAVRA_CHAVE);
+			return analiseJson(leitor, Math.max(16, capacidade));
 		}catch (IOException e) {
-			System.out.println("Chatbot: Não consegui ler o arquivo! " + e.getMessage());
+			System.out.println("Chatbot: Erro ao carregar conhecimento: " + e.getMessage());
+			return null;
 		}
-		
-		return content.toString();
 	}
 	
  	/**
- 	 * Analise de arquivo JSON
- 	 * 
- 	 * Analisa e adiciona o conteúdo do JSON no conhecimento do bot
- 	 * 
- 	 * @param jsonContent - String em formato JSON
- 	 */
-	private Map<String, List<String>> analiseJson(String jsonContent) {
-		Map<String, List<String>> conhecimento = new HashMap<>();
-		// Remove quebra de linhas e espaços
-		String json = jsonContent.replaceAll("\\s+",  " ").trim();
-
-		// Retira 2 caracteres inciais e 3 finais
-		json = json.substring(2, json.length() - 3);
-
-		// Separa JSON pela string delimitadora
-		String[] chaves = json.split("], ");
-		for (int i = 0; i < chaves.length; i++) {
-			// Separa palavra-chave
-			String chave = chaves[i];
-
-			// Adiciona colchete retirado anteriormente
-			chave += "]";
-
-			// Obtém inicio e fim da chave
-			int inicioChave = chave.indexOf("\"") + 1;
-			int fimChave = chave.indexOf("\"", inicioChave);
-			// Palavra-chave padrão
-			String chaveDefault = chave.substring(inicioChave, fimChave);
-			
-			// Obtém o inicio e fim da resposta
-			int inicioResposta = chave.indexOf("[") + 1;
-			int fimResposta = chave.indexOf("]");
-			// Resposta padrão
-			String[] respostaDefault = chave.substring(inicioResposta, fimResposta).split("\", \"");
+	 * Analise de arquivo JSON
+	 * 
+	 * Analisa e adiciona o conteúdo do JSON no conhecimento do bot à medida que
+	 * o arquivo é lido.
+	 * 
+	 * @param leitor - leitor posicionado no início do JSON
+	 * @param capacidade - quantidade esperada de palavras-chave
+	 * @return conhecimento lido (vazio para arquivo vazio)
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	private Map<String, List<String>> analiseJson(LeitorJson leitor, int capacidade) throws IOException {
+		Map<String, List<String>> conhecimento = new HashMap<>(capacidade * 4 / 3 + 1);
+		// Verifica dados vazios
+		if (leitor.fimDocumento()) {
+			return conhecimento;
+		}
+		
+		leitor.iniciarObjeto();
+		while (leitor.temProximo()) {
+			// Palavra-chave
+			String chave = leitor.lerNome();
 			
 			// Listar respostas
 			List<String> listaRespostas = new ArrayList<>();
-			for (String resp: respostaDefault) {
-				// Retira vírgula e aspas
-				for (String r: resp.split(",\"")) {
-					// Retira aspas restantes
-					listaRespostas.add(r.replaceAll("\"", ""));
-				}
+			leitor.iniciarLista();
+			while (leitor.temProximo()) {
+				listaRespostas.add(leitor.lerString());
 			}
 			
 			// Adiciona no conhecimento
-			conhecimento.put(chaveDefault, listaRespostas);
+			conhecimento.put(chave, listaRespostas);
 		}
 		// retorna o conhecimento
 		return conhecimento;
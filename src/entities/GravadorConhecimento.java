@@ -0,0 +1,220 @@
+package entities;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Gravador assíncrono do conhecimento.
+ *
+ * Recebe as alterações e os pedidos de snapshot em uma fila e os grava em uma
+ * thread própria, para que a conversa não espere pelo disco. Alterações que
+ * chegam em sequência são agrupadas em uma única gravação no diário. A ordem
+ * da fila é preservada: operações enviadas antes de um snapshot vão para o
+ * diário que será compactado, e as posteriores para o diário novo.
+ *
+ * @see DiarioConhecimento
+ */
+class GravadorConhecimento {
+	// Limite de operações agrupadas em uma gravação
+	private static final int MAXIMO_LOTE = 4096;
+
+	private final DiarioConhecimento diario;
+	private final File arquivoCompactando;
+	private final long limiteDiario;
+	private final FileManager fileManager;
+
+	private final BlockingQueue<Object> fila = new LinkedBlockingQueue<>();
+	private final Thread thread;
+	private volatile boolean compactacaoNecessaria = false;
+	private volatile boolean encerrado = false;
+
+	// Marca o fim da fila no encerramento
+	private static final Object FIM = new Object();
+
+	/**
+	 * Pedido de snapshot com a cópia do conhecimento no momento do pedido.
+	 */
+	private static class PedidoSnapshot {
+		final Map<String, List<String>> copia;
+
+		PedidoSnapshot(Map<String, List<String>> copia) {
+			this.copia = copia;
+		}
+	}
+
+	/**
+	 * Construtor da classe. Inicia a thread de gravação.
+	 *
+	 * @param fileManager        - responsável pela escrita do snapshot
+	 * @param diario             - diário de alterações
+	 * @param arquivoCompactando - destino do diário durante a compactação
+	 * @param limiteDiario       - tamanho do diário que dispara a compactação
+	 */
+	GravadorConhecimento(FileManager fileManager, DiarioConhecimento diario, File arquivoCompactando,
+			long limiteDiario) {
+		this.fileManager = fileManager;
+		this.diario = diario;
+		this.arquivoCompactando = arquivoCompactando;
+		this.limiteDiario = limiteDiario;
+
+		thread = new Thread(this::executar, "chatbot-gravador");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Envia alterações para gravação no diário.
+	 *
+	 * A verificação e o envio usam a mesma trava do encerramento, então nada
+	 * entra na fila depois do fim.
+	 *
+	 * @param operacoes - alterações em ordem de execução
+	 * @return falso se o gravador já foi encerrado e nada foi enviado
+	 */
+	synchronized boolean enviar(List<OperacaoConhecimento> operacoes) {
+		if (encerrado) {
+			return false;
+		}
+		fila.addAll(operacoes);
+		return true;
+	}
+
+	/**
+	 * Envia um pedido de snapshot.
+	 *
+	 * Ignorado depois do encerramento: o diário continua valendo.
+	 *
+	 * @param copia - cópia do conhecimento, que não será mais alterada
+	 */
+	synchronized void solicitarSnapshot(Map<String, List<String>> copia) {
+		if (encerrado) {
+			return;
+		}
+		compactacaoNecessaria = false;
+		fila.add(new PedidoSnapshot(copia));
+	}
+
+	/**
+	 * @return verdadeiro depois do encerramento, quando alterações não são mais
+	 *         aceitas
+	 */
+	synchronized boolean isEncerrado() {
+		return encerrado;
+	}
+
+	/**
+	 * Indica se o diário passou do limite (ou falhou) e precisa de um snapshot.
+	 *
+	 * @return verdadeiro quando um snapshot deve ser solicitado
+	 */
+	boolean compactacaoNecessaria() {
+		return compactacaoNecessaria;
+	}
+
+	/**
+	 * Grava o que estiver na fila e encerra a thread.
+	 *
+	 * @param tempoMs - tempo máximo de espera
+	 * @return verdadeiro quando tudo foi gravado no prazo
+	 */
+	boolean encerrar(long tempoMs) {
+		synchronized (this) {
+			if (!encerrado) {
+				encerrado = true;
+				fila.add(FIM);
+			}
+		}
+		try {
+			thread.join(tempoMs);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return !thread.isAlive();
+	}
+
+	private void executar() {
+		List<OperacaoConhecimento> lote = new ArrayList<>();
+		Object item = null;
+		while (true) {
+			// Aguarda um novo item quando não há sobra do lote anterior
+			if (item == null) {
+				try {
+					item = fila.take();
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+
+			// Agrupa as operações já disponíveis em uma única gravação
+			while (item instanceof OperacaoConhecimento && lote.size() < MAXIMO_LOTE) {
+				lote.add((OperacaoConhecimento) item);
+				item = fila.poll();
+			}
+			gravarLote(lote);
+
+			if (item instanceof PedidoSnapshot) {
+				compactar(((PedidoSnapshot) item).copia);
+				item = null;
+			} else if (item == FIM) {
+				encerrarDiario();
+				return;
+			}
+			// Lote cheio: a operação restante abre o próximo lote
+		}
+	}
+
+	private void gravarLote(List<OperacaoConhecimento> lote) {
+		if (lote.isEmpty()) {
+			return;
+		}
+		try {
+			diario.anexar(lote);
+			if (diario.tamanho() >= limiteDiario) {
+				compactacaoNecessaria = true;
+			}
+		} catch (IOException e) {
+			// Um snapshot completo cobre as operações não gravadas
+			System.out.println("Erro ao salvar diário: " + e.getMessage());
+			compactacaoNecessaria = true;
+		}
+		lote.clear();
+	}
+
+	/**
+	 * Compacta o diário no snapshot.
+	 *
+	 * O diário atual é movido para o arquivo de compactação e as novas
+	 * alterações seguem para um diário vazio. A cópia do conhecimento é gravada
+	 * como snapshot e, ao final, o arquivo de compactação é apagado. Se o
+	 * processo for interrompido, a próxima carga reaplica os dois diários, o que
+	 * é seguro porque as operações podem ser reaplicadas.
+	 */
+	private void compactar(Map<String, List<String>> copia) {
+		try {
+			// Compactação anterior incompleta: o snapshot novo cobre os dois diários
+			if (!arquivoCompactando.exists()) {
+				diario.rotacionar(arquivoCompactando);
+			}
+		} catch (IOException e) {
+			System.out.println("Erro ao compactar: " + e.getMessage());
+			return;
+		}
+
+		if (fileManager.salvarConhecimento(copia) && !arquivoCompactando.delete()) {
+			System.out.println("Erro ao compactar: diário não removido " + arquivoCompactando);
+		}
+	}
+
+	private void encerrarDiario() {
+		try {
+			diario.encerrar();
+		} catch (IOException e) {
+			System.out.println("Erro ao fechar diário: " + e.getMessage());
+		}
+	}
+}
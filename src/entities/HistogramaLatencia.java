@@ -0,0 +1,128 @@
+package entities;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em nanossegundos.
+ *
+ * Faixas em escala log-linear, como no HdrHistogram: cada potência de 2 é
+ * dividida em 32 faixas iguais, o que mantém o erro de qualquer percentil
+ * abaixo de ~3% em toda a escala, de nanossegundos a minutos, com memória
+ * fixa. Registrar é um incremento atômico, sem travas, e pode ser feito por
+ * qualquer thread.
+ */
+public class HistogramaLatencia {
+	// Bits de precisão: 2^5 faixas por potência de 2
+	private static final int PRECISAO = 5;
+	private static final int SUBFAIXAS = 1 << PRECISAO;
+	// Maior valor distinguido (~18 minutos); acima disso cai na última faixa
+	private static final int MAIOR_EXPOENTE = 40;
+	private static final int FAIXAS = (MAIOR_EXPOENTE - PRECISAO + 2) << PRECISAO;
+
+	private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+	private final LongAdder quantidade = new LongAdder();
+	private final LongAdder soma = new LongAdder();
+	private final AtomicLong maior = new AtomicLong();
+
+	/**
+	 * Registra uma latência.
+	 *
+	 * @param nanos - duração em nanossegundos
+	 */
+	public void registrar(long nanos) {
+		long valor = Math.max(0, nanos);
+		contagens.incrementAndGet(faixa(valor));
+		quantidade.increment();
+		soma.add(valor);
+		long atual;
+		while (valor > (atual = maior.get()) && !maior.compareAndSet(atual, valor)) {
+			// Tenta novamente até registrar o maior valor
+		}
+	}
+
+	/**
+	 * @return quantidade de latências registradas
+	 */
+	public long getQuantidade() {
+		return quantidade.sum();
+	}
+
+	/**
+	 * @return latência média em microssegundos
+	 */
+	public double getMediaMicros() {
+		long total = quantidade.sum();
+		return total == 0 ? 0 : soma.sum() / 1000.0 / total;
+	}
+
+	/**
+	 * @return maior latência em microssegundos
+	 */
+	public double getMaiorMicros() {
+		return maior.get() / 1000.0;
+	}
+
+	/**
+	 * Latência abaixo da qual está a fração informada dos registros.
+	 *
+	 * @param fracao - fração entre 0 e 1 (ex: 0.99)
+	 * @return percentil em microssegundos (limite superior da faixa)
+	 */
+	public double percentilMicros(double fracao) {
+		long[] copia = new long[FAIXAS];
+		long total = 0;
+		for (int i = 0; i < FAIXAS; i++) {
+			copia[i] = contagens.get(i);
+			total += copia[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long alvo = Math.max(1, (long) Math.ceil(fracao * total));
+		long acumulado = 0;
+		for (int i = 0; i < FAIXAS; i++) {
+			acumulado += copia[i];
+			if (acumulado >= alvo) {
+				return Math.min(limiteSuperior(i), maior.get()) / 1000.0;
+			}
+		}
+		return maior.get() / 1000.0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("n=%d média=%.1f p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f máx=%.1f (µs)", getQuantidade(),
+				getMediaMicros(), percentilMicros(0.5), percentilMicros(0.9), percentilMicros(0.99),
+				percentilMicros(0.999), getMaiorMicros());
+	}
+
+	/**
+	 * Faixa de um valor: valores pequenos têm faixa própria; os demais são
+	 * agrupados pelos 5 bits seguintes ao bit mais alto.
+	 */
+	static int faixa(long valor) {
+		if (valor < SUBFAIXAS) {
+			return (int) valor;
+		}
+		int expoente = 63 - Long.numberOfLeadingZeros(valor);
+		if (expoente > MAIOR_EXPOENTE) {
+			return FAIXAS - 1;
+		}
+		int sub = (int) (valor >>> (expoente - PRECISAO)) & (SUBFAIXAS - 1);
+		return ((expoente - PRECISAO + 1) << PRECISAO) + sub;
+	}
+
+	/**
+	 * Maior valor contido na faixa.
+	 */
+	static long limiteSuperior(int faixa) {
+		if (faixa < SUBFAIXAS) {
+			return faixa;
+		}
+		int deslocamento = (faixa >>> PRECISAO) - 1;
+		long inicio = (long) ((faixa & (SUBFAIXAS - 1)) + SUBFAIXAS) << deslocamento;
+		return inicio + (1L << deslocamento) - 1;
+	}
+}
@@ -0,0 +1,292 @@
+package entities;
+
+import java.util.Arrays;
+
+/**
+ * Índice de busca aproximada dos termos do conhecimento (SymSpell).
+ *
+ * Cada termo é guardado sob as variações obtidas apagando até
+ * {@code distanciaMaxima} letras do seu início ({@code tamanhoPrefixo} letras).
+ * Uma palavra digitada com erro gera as mesmas variações e só os termos que
+ * compartilham alguma delas são comparados letra a letra, o que dispensa
+ * percorrer o vocabulário: "tenpo" e "tempo" se encontram em "tepo".
+ *
+ * As variações são guardadas apenas pelo hash, em vetores primitivos; hashes
+ * iguais de variações diferentes são descartados na comparação final pela
+ * distância de edição (com transposição de letras vizinhas). Termos nunca são
+ * retirados: os que não pertencem mais a nenhuma palavra-chave são ignorados
+ * pela frequência informada na busca.
+ *
+ * Não é sincronizado: é protegido pela trava de {@link IndiceConhecimento}.
+ */
+public class IndiceAproximado {
+	private static final int VAZIO = -1;
+	// Palavras curtas demais não são corrigidas ("oi" estaria perto de tudo)
+	private static final int TAMANHO_MINIMO = 4;
+	// A partir deste tamanho são aceitos dois erros
+	private static final int TAMANHO_DOIS_ERROS = 8;
+
+	private final int distanciaMaxima;
+	private final int tamanhoPrefixo;
+
+	// Hash da variação -> primeiro nó da lista de termos
+	private int[] hashes = new int[64];
+	private int[] cabecas = new int[64];
+	private int ocupados = 0;
+
+	// Listas de termos por variação
+	private int[] termoNo = new int[64];
+	private int[] proximoNo = new int[64];
+	private int nos = 0;
+
+	// Texto de cada termo, para a comparação final
+	private String[] termos = new String[16];
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param distanciaMaxima - quantidade máxima de erros corrigidos (1 ou 2)
+	 * @param tamanhoPrefixo  - letras iniciais usadas nas variações
+	 */
+	public IndiceAproximado(int distanciaMaxima, int tamanhoPrefixo) {
+		this.distanciaMaxima = distanciaMaxima;
+		this.tamanhoPrefixo = tamanhoPrefixo;
+		Arrays.fill(cabecas, VAZIO);
+	}
+
+	/**
+	 * Cria o índice com a configuração das propriedades do sistema.
+	 *
+	 * @return índice configurado, ou null com {@code -Dchatbot.aproximada.distancia=0}
+	 */
+	public static IndiceAproximado configurado() {
+		int distancia = Math.min(2, Integer.getInteger("chatbot.aproximada.distancia", 2));
+		if (distancia <= 0) {
+			return null;
+		}
+		int prefixo = Integer.getInteger("chatbot.aproximada.prefixo", 7);
+		return new IndiceAproximado(distancia, Math.max(distancia + 1, prefixo));
+	}
+
+	/**
+	 * Adiciona um termo novo.
+	 *
+	 * @param termo - identificador do termo
+	 * @param texto - termo normalizado
+	 */
+	public void adicionar(int termo, String texto) {
+		if (termo >= termos.length) {
+			termos = Arrays.copyOf(termos, Math.max(termo + 1, termos.length * 2));
+		}
+		termos[termo] = texto;
+		if (texto.length() < TAMANHO_MINIMO) {
+			return;
+		}
+		for (int apagadas = 0; apagadas <= distanciaMaxima; apagadas++) {
+			for (int hash : variacoes(texto, 0, texto.length(), apagadas)) {
+				inserir(hash, termo);
+			}
+		}
+	}
+
+	/**
+	 * Busca o termo mais próximo de uma palavra desconhecida.
+	 *
+	 * Vence a menor distância; no empate, o termo presente em mais
+	 * palavras-chave. As variações são consultadas da menor para a maior
+	 * quantidade de letras apagadas: um termo a distância d sempre compartilha
+	 * uma variação com no máximo d letras apagadas, então depois de encontrar um
+	 * termo as variações mais curtas não precisam ser consultadas.
+	 *
+	 * @param texto      - texto de origem
+	 * @param inicio     - posição inicial da palavra
+	 * @param fim        - posição seguinte ao final da palavra
+	 * @param frequencia - quantidade de palavras-chave de cada termo
+	 * @return identificador do termo encontrado, ou -1 se nenhum
+	 */
+	public int buscar(CharSequence texto, int inicio, int fim, int[] frequencia) {
+		int tamanho = fim - inicio;
+		if (tamanho < TAMANHO_MINIMO) {
+			return VAZIO;
+		}
+		int distancia = Math.min(distanciaMaxima, tamanho < TAMANHO_DOIS_ERROS ? 1 : 2);
+		int melhor = VAZIO;
+		int melhorDistancia = distancia;
+		int[] linhas = new int[3 * (tamanho + 1)];
+		for (int apagadas = 0; apagadas <= distancia; apagadas++) {
+			if (melhor != VAZIO && apagadas > melhorDistancia) {
+				break;
+			}
+			for (int hash : variacoes(texto, inicio, fim, apagadas)) {
+				for (int no = cabecaDe(hash); no != VAZIO; no = proximoNo[no]) {
+					int termo = termoNo[no];
+					if (termo == melhor || frequencia[termo] == 0) {
+						continue;
+					}
+					int d = distancia(termos[termo], texto, inicio, fim, melhorDistancia, linhas);
+					if (d > melhorDistancia) {
+						continue;
+					}
+					if (melhor == VAZIO || d < melhorDistancia || frequencia[termo] > frequencia[melhor]) {
+						melhor = termo;
+						melhorDistancia = d;
+					}
+				}
+			}
+		}
+		return melhor;
+	}
+
+	/**
+	 * Hashes distintos das variações do prefixo com exatamente {@code apagadas}
+	 * letras apagadas (0, 1 ou 2).
+	 */
+	private int[] variacoes(CharSequence texto, int inicio, int fim, int apagadas) {
+		int tamanho = Math.min(fim - inicio, tamanhoPrefixo);
+		if (apagadas == 0) {
+			return new int[] { hash(texto, inicio, tamanho, -1, -1) };
+		}
+		int[] hashes = new int[apagadas == 1 ? tamanho : tamanho * (tamanho - 1) / 2];
+		int quantidade = 0;
+		for (int i = 0; i < tamanho; i++) {
+			if (apagadas == 1) {
+				quantidade = acrescentar(hashes, quantidade, hash(texto, inicio, tamanho, i, -1));
+			} else {
+				for (int j = i + 1; j < tamanho; j++) {
+					quantidade = acrescentar(hashes, quantidade, hash(texto, inicio, tamanho, i, j));
+				}
+			}
+		}
+		return Arrays.copyOf(hashes, quantidade);
+	}
+
+	private static int acrescentar(int[] hashes, int quantidade, int hash) {
+		// Letras repetidas geram a mesma variação
+		for (int i = 0; i < quantidade; i++) {
+			if (hashes[i] == hash) {
+				return quantidade;
+			}
+		}
+		hashes[quantidade] = hash;
+		return quantidade + 1;
+	}
+
+	/**
+	 * Hash do prefixo sem as posições apagadas, com o tamanho resultante
+	 * misturado para separar variações de tamanhos diferentes.
+	 */
+	private static int hash(CharSequence texto, int inicio, int tamanho, int apagada1, int apagada2) {
+		int hash = 0;
+		int restantes = 0;
+		for (int i = 0; i < tamanho; i++) {
+			if (i != apagada1 && i != apagada2) {
+				hash = 31 * hash + texto.charAt(inicio + i);
+				restantes++;
+			}
+		}
+		return hash * 0x9E3779B1 + restantes;
+	}
+
+	/**
+	 * Distância de edição com transposição de letras vizinhas, interrompida
+	 * quando passa do limite.
+	 *
+	 * @return distância, ou {@code limite + 1} se for maior que o limite
+	 */
+	private static int distancia(String termo, CharSequence texto, int inicio, int fim, int limite, int[] linhas) {
+		int m = termo.length();
+		int n = fim - inicio;
+		if (Math.abs(m - n) > limite) {
+			return limite + 1;
+		}
+		int largura = n + 1;
+		int anterior2 = 0;
+		int anterior = largura;
+		int atual = 2 * largura;
+		for (int j = 0; j <= n; j++) {
+			linhas[anterior + j] = j;
+		}
+		for (int i = 1; i <= m; i++) {
+			linhas[atual] = i;
+			int menor = i;
+			char a = termo.charAt(i - 1);
+			for (int j = 1; j <= n; j++) {
+				char b = texto.charAt(inicio + j - 1);
+				int custo = a == b ? 0 : 1;
+				int valor = Math.min(Math.min(linhas[anterior + j] + 1, linhas[atual + j - 1] + 1),
+						linhas[anterior + j - 1] + custo);
+				if (i > 1 && j > 1 && a == texto.charAt(inicio + j - 2) && termo.charAt(i - 2) == b) {
+					valor = Math.min(valor, linhas[anterior2 + j - 2] + 1);
+				}
+				linhas[atual + j] = valor;
+				menor = Math.min(menor, valor);
+			}
+			if (menor > limite) {
+				return limite + 1;
+			}
+			int livre = anterior2;
+			anterior2 = anterior;
+			anterior = atual;
+			atual = livre;
+		}
+		return Math.min(linhas[anterior + n], limite + 1);
+	}
+
+	private int cabecaDe(int hash) {
+		int mascara = hashes.length - 1;
+		for (int i = espalhar(hash) & mascara;; i = (i + 1) & mascara) {
+			if (cabecas[i] == VAZIO) {
+				return VAZIO;
+			}
+			if (hashes[i] == hash) {
+				return cabecas[i];
+			}
+		}
+	}
+
+	private void inserir(int hash, int termo) {
+		// Mantém a tabela no máximo meio cheia
+		if ((ocupados + 1) * 2 > hashes.length) {
+			redimensionar();
+		}
+		if (nos == termoNo.length) {
+			termoNo = Arrays.copyOf(termoNo, nos * 2);
+			proximoNo = Arrays.copyOf(proximoNo, nos * 2);
+		}
+		int mascara = hashes.length - 1;
+		int i = espalhar(hash) & mascara;
+		while (cabecas[i] != VAZIO && hashes[i] != hash) {
+			i = (i + 1) & mascara;
+		}
+		if (cabecas[i] == VAZIO) {
+			hashes[i] = hash;
+			ocupados++;
+		}
+		termoNo[nos] = termo;
+		proximoNo[nos] = cabecas[i];
+		cabecas[i] = nos++;
+	}
+
+	private void redimensionar() {
+		int[] antigosHashes = hashes;
+		int[] antigasCabecas = cabecas;
+		hashes = new int[antigosHashes.length * 2];
+		cabecas = new int[antigosHashes.length * 2];
+		Arrays.fill(cabecas, VAZIO);
+		int mascara = hashes.length - 1;
+		for (int j = 0; j < antigosHashes.length; j++) {
+			if (antigasCabecas[j] != VAZIO) {
+				int i = espalhar(antigosHashes[j]) & mascara;
+				while (cabecas[i] != VAZIO) {
+					i = (i + 1) & mascara;
+				}
+				hashes[i] = antigosHashes[j];
+				cabecas[i] = antigasCabecas[j];
+			}
+		}
+	}
+
+	private static int espalhar(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,539 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido do conhecimento do chatbot.
+ *
+ * Associa cada termo (palavra normalizada) às palavras-chave que o contêm. Assim
+ * a busca de uma mensagem custa apenas a quantidade de termos da mensagem, e não
+ * a quantidade de palavras-chave do conhecimento.
+ *
+ * As estatísticas dos termos ficam em vetores primitivos e a raridade (IDF) de
+ * cada termo é recalculada apenas quando o conhecimento muda, sem reconstruir o
+ * índice.
+ *
+ * Palavras-chave com mais de uma palavra ("tempo hoje") também ficam em um
+ * {@link IndiceFrases}: quando a mensagem contém a frase inteira, na ordem, a
+ * frase mais longa encontrada é a resposta, sem pontuação. Se nenhum termo da
+ * mensagem é conhecido, as palavras desconhecidas são trocadas pelos termos mais
+ * próximos do {@link IndiceAproximado} ("tenpo" por "tempo") e a busca é
+ * repetida.
+ *
+ * Buscas podem ocorrer em paralelo entre si; adicionar e remover palavras-chave
+ * é exclusivo.
+ *
+ * @see MotorPontuacao
+ */
+public class IndiceConhecimento {
+	private static final float TOLERANCIA_EMPATE = 1e-5f;
+
+	private MessageManager messageManager = new MessageManager();
+	private MotorPontuacao motor;
+	private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+	// Identificadores de termos e palavras-chave
+	private TabelaTermos termos = new TabelaTermos();
+	private Map<String, Integer> idsEntrada = new HashMap<>();
+
+	// Dados por palavra-chave (entrada)
+	private String[] entradas = new String[16];
+	private int[][] termosEntrada = new int[16][];
+	private long somaTamanhos = 0;
+	private int[] entradasLivres = new int[16];
+	private int quantidadeLivres = 0;
+	private int proximaEntrada = 0;
+
+	// Frases: palavras-chave com dois ou mais termos
+	private IndiceFrases frases = new IndiceFrases();
+
+	// Termos parecidos, para mensagens com erros de digitação (null desativa)
+	private final IndiceAproximado aproximado;
+
+	// Postings por termo: termo -> entradas que o contêm
+	private int[][] postings = new int[16][];
+	private int[] tamanhoPostings = new int[16];
+
+	// Raridade de cada termo com o total de entradas usado no cálculo (total nos
+	// 32 bits altos, valor nos baixos), para ser lida e gravada de uma só vez
+	// por buscas simultâneas
+	private static final long IDF_INVALIDO = -1L;
+	private AtomicLongArray idfTermo = new AtomicLongArray(16);
+
+	// Áreas de trabalho reaproveitadas entre buscas. Ficam em um pequeno
+	// conjunto compartilhado, e não por thread, para que milhares de threads
+	// virtuais não criem cada uma a sua
+	private final AtomicReferenceArray<AreaBusca> areas = new AtomicReferenceArray<>(
+			Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2);
+
+	/**
+	 * Marcações e scores de uma busca em andamento.
+	 */
+	private static class AreaBusca {
+		int geracao = 0;
+		int[] marcaTermo = new int[16];
+		int[] marcaEntrada = new int[16];
+		float[] scoreEntrada = new float[16];
+		int[] entradasTocadas = new int[16];
+		int[] termosMensagem = new int[16];
+		int[] inicioTermo = new int[16];
+		int[] fimTermo = new int[16];
+	}
+
+	/**
+	 * Construtor com pontuação BM25.
+	 */
+	public IndiceConhecimento() {
+		this(new PontuacaoBM25());
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param motor - motor de pontuação das palavras-chave
+	 */
+	public IndiceConhecimento(MotorPontuacao motor) {
+		this.motor = motor;
+		this.aproximado = IndiceAproximado.configurado();
+	}
+
+	/**
+	 * Adiciona uma palavra-chave ao índice.
+	 *
+	 * Palavras-chave já indexadas são ignoradas.
+	 *
+	 * @param palavraChave - palavra-chave normalizada
+	 */
+	public void adicionar(String palavraChave) {
+		trava.writeLock().lock();
+		try {
+			adicionarEntrada(palavraChave);
+		} finally {
+			trava.writeLock().unlock();
+		}
+	}
+
+	private void adicionarEntrada(String palavraChave) {
+		// Verifica palavra-chave já indexada
+		if (idsEntrada.containsKey(palavraChave)) {
+			return;
+		}
+
+		// Reaproveita identificadores de palavras-chave removidas
+		int entrada = quantidadeLivres > 0 ? entradasLivres[--quantidadeLivres] : proximaEntrada++;
+		garantirCapacidadeEntradas(entrada + 1);
+
+		// Obtém termos distintos da palavra-chave
+		int[] sequencia = sequenciaTermos(palavraChave);
+		int[] termosChave = new int[4];
+		int quantidade = 0;
+		for (int termo : sequencia) {
+			if (!contem(termosChave, quantidade, termo)) {
+				if (quantidade == termosChave.length) {
+					termosChave = Arrays.copyOf(termosChave, quantidade * 2);
+				}
+				termosChave[quantidade++] = termo;
+				adicionarPosting(termo, entrada);
+			}
+		}
+
+		entradas[entrada] = palavraChave;
+		termosEntrada[entrada] = Arrays.copyOf(termosChave, quantidade);
+		somaTamanhos += quantidade;
+		idsEntrada.put(palavraChave, entrada);
+		if (sequencia.length > 1) {
+			frases.adicionar(sequencia, entrada);
+		}
+	}
+
+	/**
+	 * Remove uma palavra-chave do índice.
+	 *
+	 * @param palavraChave - palavra-chave normalizada
+	 */
+	public void remover(String palavraChave) {
+		trava.writeLock().lock();
+		try {
+			removerEntrada(palavraChave);
+		} finally {
+			trava.writeLock().unlock();
+		}
+	}
+
+	private void removerEntrada(String palavraChave) {
+		Integer entrada = idsEntrada.remove(palavraChave);
+		// Verifica palavra-chave inexistente
+		if (entrada == null) {
+			return;
+		}
+
+		int[] sequencia = sequenciaTermos(palavraChave);
+		if (sequencia.length > 1) {
+			frases.remover(sequencia, entrada);
+		}
+
+		// Retira a palavra-chave das listas de seus termos
+		for (int termo : termosEntrada[entrada]) {
+			removerPosting(termo, entrada);
+		}
+		somaTamanhos -= termosEntrada[entrada].length;
+
+		entradas[entrada] = null;
+		termosEntrada[entrada] = null;
+
+		// Libera o identificador para reaproveitamento
+		if (quantidadeLivres == entradasLivres.length) {
+			entradasLivres = Arrays.copyOf(entradasLivres, quantidadeLivres * 2);
+		}
+		entradasLivres[quantidadeLivres++] = entrada;
+	}
+
+	/**
+	 * Busca as palavras-chave com melhor correspondência para a mensagem.
+	 *
+	 * Se a mensagem contém uma frase do conhecimento, a frase mais longa é a
+	 * única resposta. Caso contrário, o score de cada palavra-chave é a soma dos
+	 * pesos dos termos dela presentes na mensagem, calculados pelo motor de
+	 * pontuação. Apenas as palavras-chave ligadas aos termos da mensagem são
+	 * visitadas. Sem nenhuma correspondência, a busca é repetida com as palavras
+	 * desconhecidas corrigidas pela busca aproximada.
+	 *
+	 * @param palavrasMensagem - palavras relevantes da mensagem
+	 * @return frase encontrada ou palavras-chave empatadas com o maior score
+	 *         (vazia se nenhuma)
+	 */
+	public List<String> buscar(Tokenizador palavrasMensagem) {
+		trava.readLock().lock();
+		AreaBusca area = obterArea();
+		try {
+			return buscar(palavrasMensagem, area);
+		} finally {
+			devolverArea(area);
+			trava.readLock().unlock();
+		}
+	}
+
+	private List<String> buscar(Tokenizador palavrasMensagem, AreaBusca area) {
+		// Termos da mensagem em ordem (negativos se desconhecidos)
+		int[] termosMensagem = area.termosMensagem;
+		int quantidade = 0;
+		int desconhecidos = 0;
+		CharSequence mensagem = palavrasMensagem.texto();
+		while (palavrasMensagem.proximo()) {
+			if (quantidade == termosMensagem.length) {
+				termosMensagem = area.termosMensagem = Arrays.copyOf(termosMensagem, quantidade * 2);
+				area.inicioTermo = Arrays.copyOf(area.inicioTermo, quantidade * 2);
+				area.fimTermo = Arrays.copyOf(area.fimTermo, quantidade * 2);
+			}
+			int termo = termos.buscar(mensagem, palavrasMensagem.inicio(), palavrasMensagem.fim());
+			// Termos nunca saem da tabela: sem palavras-chave, é desconhecido
+			if (termo >= 0 && tamanhoPostings[termo] == 0) {
+				termo = -1;
+			}
+			if (termo < 0) {
+				desconhecidos++;
+			}
+			area.inicioTermo[quantidade] = palavrasMensagem.inicio();
+			area.fimTermo[quantidade] = palavrasMensagem.fim();
+			termosMensagem[quantidade++] = termo;
+		}
+
+		List<String> encontradas = pontuar(termosMensagem, quantidade, area);
+		if (!encontradas.isEmpty() || aproximado == null || desconhecidos == 0) {
+			return encontradas;
+		}
+
+		// Nenhuma correspondência exata: troca as palavras desconhecidas pelos
+		// termos mais próximos e busca de novo
+		boolean corrigida = false;
+		for (int t = 0; t < quantidade; t++) {
+			if (termosMensagem[t] < 0) {
+				termosMensagem[t] = aproximado.buscar(mensagem, area.inicioTermo[t], area.fimTermo[t],
+						tamanhoPostings);
+				corrigida |= termosMensagem[t] >= 0;
+			}
+		}
+		return corrigida ? pontuar(termosMensagem, quantidade, area) : encontradas;
+	}
+
+	/**
+	 * Frase mais longa presente nos termos ou, sem frase, palavras-chave com o
+	 * maior score.
+	 */
+	private List<String> pontuar(int[] termosMensagem, int quantidade, AreaBusca area) {
+		// Frase do conhecimento presente na mensagem
+		int frase = frases.buscarMaisLonga(termosMensagem, quantidade);
+		if (frase >= 0) {
+			List<String> encontrada = new ArrayList<>(1);
+			encontrada.add(entradas[frase]);
+			return encontrada;
+		}
+
+		int geracao = iniciarGeracao(area);
+		int[] marcaTermo = area.marcaTermo;
+		int[] marcaEntrada = area.marcaEntrada;
+		float[] scoreEntrada = area.scoreEntrada;
+		int[] entradasTocadas = area.entradasTocadas;
+		int tocadas = 0;
+		int totalEntradas = idsEntrada.size();
+		float tamanhoMedio = totalEntradas > 0 ? (float) somaTamanhos / totalEntradas : 0f;
+
+		for (int t = 0; t < quantidade; t++) {
+			int termo = termosMensagem[t];
+			// Ignora termos desconhecidos ou repetidos na mensagem
+			if (termo < 0 || marcaTermo[termo] == geracao) {
+				continue;
+			}
+			marcaTermo[termo] = geracao;
+			float idf = idf(termo, totalEntradas);
+
+			// Pontua as palavras-chave que contêm o termo
+			int[] lista = postings[termo];
+			for (int i = 0; i < tamanhoPostings[termo]; i++) {
+				int entrada = lista[i];
+				if (marcaEntrada[entrada] != geracao) {
+					marcaEntrada[entrada] = geracao;
+					scoreEntrada[entrada] = 0f;
+					entradasTocadas[tocadas++] = entrada;
+				}
+				scoreEntrada[entrada] += motor.pontuar(idf, termosEntrada[entrada].length, tamanhoMedio);
+			}
+		}
+
+		float maiorScore = 0f;
+		List<String> palavrasComMelhorScore = new ArrayList<>();
+		for (int i = 0; i < tocadas; i++) {
+			int entrada = entradasTocadas[i];
+			float score = scoreEntrada[entrada];
+			// Adiciona palavra com melhor pontuação
+			if (score > maiorScore + TOLERANCIA_EMPATE) {
+				maiorScore = score;
+				palavrasComMelhorScore.clear();
+				palavrasComMelhorScore.add(entradas[entrada]);
+			} else if (score >= maiorScore - TOLERANCIA_EMPATE) {
+				palavrasComMelhorScore.add(entradas[entrada]);
+			}
+		}
+
+		return palavrasComMelhorScore;
+	}
+
+	/**
+	 * Quantidade de palavras-chave indexadas.
+	 *
+	 * @return total de palavras-chave
+	 */
+	public int tamanho() {
+		trava.readLock().lock();
+		try {
+			return idsEntrada.size();
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Raridade do termo, recalculada apenas se o total de entradas ou a
+	 * frequência do termo mudou desde o último cálculo.
+	 */
+	private float idf(int termo, int totalEntradas) {
+		long calculado = idfTermo.get(termo);
+		if ((int) (calculado >>> 32) == totalEntradas) {
+			return Float.intBitsToFloat((int) calculado);
+		}
+		// Buscas simultâneas calculam o mesmo valor
+		float idf = motor.idf(tamanhoPostings[termo], totalEntradas);
+		idfTermo.set(termo, ((long) totalEntradas << 32) | (Float.floatToRawIntBits(idf) & 0xFFFFFFFFL));
+		return idf;
+	}
+
+	/**
+	 * Quantidade de palavras-chave de frase indexadas.
+	 *
+	 * @return total de frases
+	 */
+	public int frases() {
+		trava.readLock().lock();
+		try {
+			return frases.getQuantidade();
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return verdadeiro se palavras desconhecidas são corrigidas pela busca
+	 *         aproximada
+	 */
+	public boolean isAproximado() {
+		return aproximado != null;
+	}
+
+	/**
+	 * Indica se algum dos termos não está em nenhuma palavra-chave. Só mensagens
+	 * com termos desconhecidos passam pela busca aproximada.
+	 *
+	 * @param palavras - termos relevantes de uma mensagem
+	 * @return verdadeiro se algum termo é desconhecido
+	 */
+	public boolean contemDesconhecido(List<String> palavras) {
+		trava.readLock().lock();
+		try {
+			for (String palavra : palavras) {
+				int termo = termos.buscar(palavra);
+				if (termo < 0 || tamanhoPostings[termo] == 0) {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return verdadeiro se a pontuação depende de todo o conhecimento
+	 * @see MotorPontuacao#isGlobal()
+	 */
+	public boolean isPontuacaoGlobal() {
+		return motor.isGlobal();
+	}
+
+	/**
+	 * Identificadores dos termos da palavra-chave, em ordem e com repetições.
+	 */
+	private int[] sequenciaTermos(String palavraChave) {
+		int[] sequencia = new int[4];
+		int quantidade = 0;
+		Tokenizador tokens = messageManager.tokenizar(palavraChave);
+		while (tokens.proximo()) {
+			if (quantidade == sequencia.length) {
+				sequencia = Arrays.copyOf(sequencia, quantidade * 2);
+			}
+			sequencia[quantidade++] = obterTermo(tokens.palavra());
+		}
+		return Arrays.copyOf(sequencia, quantidade);
+	}
+
+	/**
+	 * Obtém (ou cria) o identificador de um termo.
+	 */
+	private int obterTermo(String palavra) {
+		int novo = termos.tamanho();
+		int termo = termos.obter(palavra);
+		garantirCapacidadeTermos(termo + 1);
+		if (termo == novo && aproximado != null) {
+			aproximado.adicionar(termo, palavra);
+		}
+		return termo;
+	}
+
+	/**
+	 * Adiciona a entrada na lista do termo.
+	 */
+	private void adicionarPosting(int termo, int entrada) {
+		int[] lista = postings[termo];
+		if (lista == null) {
+			lista = new int[2];
+		} else if (tamanhoPostings[termo] == lista.length) {
+			lista = Arrays.copyOf(lista, lista.length * 2);
+		}
+		lista[tamanhoPostings[termo]++] = entrada;
+		postings[termo] = lista;
+		idfTermo.set(termo, IDF_INVALIDO); // Frequência mudou, invalida raridade
+	}
+
+	/**
+	 * Remove a entrada da lista do termo, trocando-a pelo último elemento.
+	 */
+	private void removerPosting(int termo, int entrada) {
+		int[] lista = postings[termo];
+		int tamanho = tamanhoPostings[termo];
+		for (int i = 0; i < tamanho; i++) {
+			if (lista[i] == entrada) {
+				lista[i] = lista[tamanho - 1];
+				tamanhoPostings[termo] = tamanho - 1;
+				idfTermo.set(termo, IDF_INVALIDO); // Frequência mudou, invalida raridade
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Obtém uma área de trabalho livre, criando uma nova se todas estiverem em
+	 * uso, e a ajusta à capacidade atual do índice.
+	 */
+	private AreaBusca obterArea() {
+		int posicao = (int) Thread.currentThread().getId() & (areas.length() - 1);
+		AreaBusca area = areas.getAndSet(posicao, null);
+		if (area == null) {
+			area = new AreaBusca();
+		}
+		if (area.marcaEntrada.length < entradas.length) {
+			area.marcaEntrada = Arrays.copyOf(area.marcaEntrada, entradas.length);
+			area.scoreEntrada = Arrays.copyOf(area.scoreEntrada, entradas.length);
+			area.entradasTocadas = Arrays.copyOf(area.entradasTocadas, entradas.length);
+		}
+		if (area.marcaTermo.length < postings.length) {
+			area.marcaTermo = Arrays.copyOf(area.marcaTermo, postings.length);
+		}
+		return area;
+	}
+
+	private void devolverArea(AreaBusca area) {
+		int posicao = (int) Thread.currentThread().getId() & (areas.length() - 1);
+		areas.compareAndSet(posicao, null, area);
+	}
+
+	/**
+	 * Inicia uma nova geração de marcações, evitando limpar os vetores a cada
+	 * busca.
+	 */
+	private static int iniciarGeracao(AreaBusca area) {
+		if (area.geracao == Integer.MAX_VALUE) {
+			Arrays.fill(area.marcaTermo, 0);
+			Arrays.fill(area.marcaEntrada, 0);
+			area.geracao = 0;
+		}
+		return ++area.geracao;
+	}
+
+	private void garantirCapacidadeEntradas(int capacidade) {
+		if (capacidade <= entradas.length) {
+			return;
+		}
+		int novaCapacidade = Math.max(capacidade, entradas.length * 2);
+		entradas = Arrays.copyOf(entradas, novaCapacidade);
+		termosEntrada = Arrays.copyOf(termosEntrada, novaCapacidade);
+	}
+
+	private void garantirCapacidadeTermos(int capacidade) {
+		if (capacidade <= postings.length) {
+			return;
+		}
+		int novaCapacidade = Math.max(capacidade, postings.length * 2);
+		postings = Arrays.copyOf(postings, novaCapacidade);
+		tamanhoPostings = Arrays.copyOf(tamanhoPostings, novaCapacidade);
+		AtomicLongArray novoIdf = new AtomicLongArray(novaCapacidade);
+		for (int i = 0; i < novaCapacidade; i++) {
+			novoIdf.set(i, i < idfTermo.length() ? idfTermo.get(i) : IDF_INVALIDO);
+		}
+		idfTermo = novoIdf;
+	}
+
+	private static boolean contem(int[] vetor, int tamanho, int valor) {
+		for (int i = 0; i < tamanho; i++) {
+			if (vetor[i] == valor) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
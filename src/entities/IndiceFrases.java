@@ -0,0 +1,219 @@
+package entities;
+
+import java.util.Arrays;
+
+/**
+ * Árvore de prefixos das palavras-chave com mais de uma palavra.
+ *
+ * Cada palavra-chave de frase ("tempo hoje") é guardada como a sequência dos
+ * identificadores de seus termos. A busca percorre os termos da mensagem e, a
+ * partir de cada posição, desce na árvore enquanto os termos seguintes
+ * continuarem uma frase, encontrando a frase mais longa presente na mensagem.
+ * Cada posição avança no máximo o tamanho da maior frase, o que mantém a busca
+ * linear no tamanho da mensagem.
+ *
+ * Os filhos de cada nó ficam em uma única tabela de hash aberta (nó e termo
+ * combinados em um long), sem objetos por nó. Palavras-chave diferentes com a
+ * mesma sequência de termos (uma antiga "tempo de hoje" e "tempo hoje") dividem
+ * o nó: ficam encadeadas e a frase continua guardada até a última ser removida.
+ * Não é sincronizada: é protegida pela trava de {@link IndiceConhecimento}.
+ */
+public class IndiceFrases {
+	private static final long VAZIO = -1L;
+	private static final int RAIZ = 0;
+
+	// Filhos: (nó << 32 | termo) -> nó
+	private long[] chaves = new long[64];
+	private int[] filhos = new int[64];
+	private int ocupados = 0;
+
+	// Primeira palavra-chave (entrada do índice) que termina em cada nó, ou -1
+	private int[] entradaNo = new int[16];
+	// Próxima entrada com a mesma sequência de termos, ou -1
+	private int[] seguinte = new int[16];
+	private int nos = 1;
+	private int frases = 0;
+	private int maiorFrase = 0;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public IndiceFrases() {
+		Arrays.fill(chaves, VAZIO);
+		Arrays.fill(entradaNo, -1);
+	}
+
+	/**
+	 * Adiciona uma frase.
+	 *
+	 * Uma frase com a mesma sequência de termos de outra já guardada fica atrás
+	 * dela: a busca continua encontrando a primeira.
+	 *
+	 * @param termos  - identificadores dos termos, em ordem
+	 * @param entrada - identificador da palavra-chave
+	 */
+	public void adicionar(int[] termos, int entrada) {
+		int no = RAIZ;
+		for (int termo : termos) {
+			int filho = filho(no, termo);
+			if (filho < 0) {
+				filho = criarNo();
+				inserirFilho(no, termo, filho);
+			}
+			no = filho;
+		}
+		if (entrada >= seguinte.length) {
+			seguinte = Arrays.copyOf(seguinte, Math.max(entrada + 1, seguinte.length * 2));
+		}
+		seguinte[entrada] = -1;
+		if (entradaNo[no] < 0) {
+			entradaNo[no] = entrada;
+		} else {
+			int ultima = entradaNo[no];
+			while (seguinte[ultima] >= 0) {
+				ultima = seguinte[ultima];
+			}
+			seguinte[ultima] = entrada;
+		}
+		frases++;
+		maiorFrase = Math.max(maiorFrase, termos.length);
+	}
+
+	/**
+	 * Remove uma frase.
+	 *
+	 * Os nós do caminho são mantidos e reaproveitados se a frase voltar. Se
+	 * outra palavra-chave tem a mesma sequência, a frase continua encontrada.
+	 *
+	 * @param termos  - identificadores dos termos, em ordem
+	 * @param entrada - identificador da palavra-chave
+	 */
+	public void remover(int[] termos, int entrada) {
+		int no = RAIZ;
+		for (int termo : termos) {
+			no = filho(no, termo);
+			if (no < 0) {
+				return;
+			}
+		}
+		if (entradaNo[no] == entrada) {
+			entradaNo[no] = seguinte[entrada];
+			frases--;
+			return;
+		}
+		for (int anterior = entradaNo[no]; anterior >= 0; anterior = seguinte[anterior]) {
+			if (seguinte[anterior] == entrada) {
+				seguinte[anterior] = seguinte[entrada];
+				frases--;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Frase mais longa presente na sequência de termos.
+	 *
+	 * Em caso de empate no tamanho, vence a que aparece primeiro.
+	 *
+	 * @param termos     - termos da mensagem (negativos para termos desconhecidos)
+	 * @param quantidade - quantidade de termos
+	 * @return entrada da frase encontrada, ou -1 se nenhuma
+	 */
+	public int buscarMaisLonga(int[] termos, int quantidade) {
+		if (frases == 0) {
+			return -1;
+		}
+		int melhor = -1;
+		int melhorTamanho = 1;
+		for (int inicio = 0; inicio + melhorTamanho < quantidade; inicio++) {
+			int no = RAIZ;
+			int limite = Math.min(quantidade, inicio + maiorFrase);
+			for (int i = inicio; i < limite && termos[i] >= 0; i++) {
+				no = filho(no, termos[i]);
+				if (no < 0) {
+					break;
+				}
+				int tamanho = i - inicio + 1;
+				if (entradaNo[no] >= 0 && tamanho > melhorTamanho) {
+					melhor = entradaNo[no];
+					melhorTamanho = tamanho;
+				}
+			}
+		}
+		return melhor;
+	}
+
+	/**
+	 * @return quantidade de palavras-chave de frase guardadas
+	 */
+	public int getQuantidade() {
+		return frases;
+	}
+
+	private int criarNo() {
+		if (nos == entradaNo.length) {
+			int anterior = entradaNo.length;
+			entradaNo = Arrays.copyOf(entradaNo, anterior * 2);
+			Arrays.fill(entradaNo, anterior, entradaNo.length, -1);
+		}
+		return nos++;
+	}
+
+	private int filho(int no, int termo) {
+		long chave = chave(no, termo);
+		int mascara = chaves.length - 1;
+		for (int i = espalhar(chave) & mascara;; i = (i + 1) & mascara) {
+			long atual = chaves[i];
+			if (atual == chave) {
+				return filhos[i];
+			}
+			if (atual == VAZIO) {
+				return -1;
+			}
+		}
+	}
+
+	private void inserirFilho(int no, int termo, int filho) {
+		// Mantém a tabela no máximo meio cheia
+		if ((ocupados + 1) * 2 > chaves.length) {
+			redimensionar();
+		}
+		long chave = chave(no, termo);
+		int mascara = chaves.length - 1;
+		int i = espalhar(chave) & mascara;
+		while (chaves[i] != VAZIO) {
+			i = (i + 1) & mascara;
+		}
+		chaves[i] = chave;
+		filhos[i] = filho;
+		ocupados++;
+	}
+
+	private void redimensionar() {
+		long[] antigasChaves = chaves;
+		int[] antigosFilhos = filhos;
+		chaves = new long[antigasChaves.length * 2];
+		filhos = new int[antigasChaves.length * 2];
+		Arrays.fill(chaves, VAZIO);
+		int mascara = chaves.length - 1;
+		for (int j = 0; j < antigasChaves.length; j++) {
+			if (antigasChaves[j] != VAZIO) {
+				int i = espalhar(antigasChaves[j]) & mascara;
+				while (chaves[i] != VAZIO) {
+					i = (i + 1) & mascara;
+				}
+				chaves[i] = antigasChaves[j];
+				filhos[i] = antigosFilhos[j];
+			}
+		}
+	}
+
+	private static long chave(int no, int termo) {
+		return ((long) no << 32) | (termo & 0xFFFFFFFFL);
+	}
+
+	private static int espalhar(long chave) {
+		long h = chave * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
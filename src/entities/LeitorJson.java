@@ -0,0 +1,352 @@
+package entities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Leitor incremental de JSON.
+ *
+ * Lê o conteúdo em blocos de um {@link Reader}, em uma única passada, sem manter
+ * o documento inteiro em memória. Trata corretamente os escapes de strings
+ * (incluindo os escapes unicode), de modo que respostas com colchetes, vírgulas
+ * ou aspas são lidas sem perdas.
+ *
+ * Uso típico para um objeto de listas:
+ *
+ * <pre>
+ * leitor.iniciarObjeto();
+ * while (leitor.temProximo()) {
+ * 	String chave = leitor.lerNome();
+ * 	leitor.iniciarLista();
+ * 	while (leitor.temProximo()) {
+ * 		leitor.lerString();
+ * 	}
+ * }
+ * </pre>
+ */
+public class LeitorJson implements Closeable {
+	private static final int FIM = -1;
+
+	private final Reader reader;
+	private final char[] buffer;
+	private int posicao = 0;
+	private int limite = 0;
+	private long lidos = 0;
+
+	// Pilha de objetos/listas abertos: indica se o próximo item é o primeiro
+	private boolean[] primeiro = new boolean[8];
+	private int profundidade = 0;
+
+	private final StringBuilder texto = new StringBuilder();
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param reader - origem do conteúdo JSON
+	 */
+	public LeitorJson(Reader reader) {
+		this(reader, 64 * 1024);
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param reader  - origem do conteúdo JSON
+	 * @param tamanho - tamanho do bloco de leitura
+	 */
+	public LeitorJson(Reader reader, int tamanho) {
+		this.reader = reader;
+		this.buffer = new char[tamanho];
+	}
+
+	/**
+	 * Verifica se o documento não possui mais conteúdo.
+	 *
+	 * @return verdadeiro quando resta apenas espaço em branco
+	 * @throws IOException - Erro na leitura
+	 */
+	public boolean fimDocumento() throws IOException {
+		return espiar() == FIM;
+	}
+
+	/**
+	 * Inicia a leitura de um objeto.
+	 *
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	public void iniciarObjeto() throws IOException {
+		esperar('{');
+		empilhar();
+	}
+
+	/**
+	 * Inicia a leitura de uma lista.
+	 *
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	public void iniciarLista() throws IOException {
+		esperar('[');
+		empilhar();
+	}
+
+	/**
+	 * Verifica se o objeto ou lista atual possui mais um item.
+	 *
+	 * Consome a vírgula entre os itens ou o fechamento do objeto/lista.
+	 *
+	 * @return falso quando o objeto ou lista foi fechado
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	public boolean temProximo() throws IOException {
+		if (profundidade == 0) {
+			throw erro("Nenhum objeto ou lista aberto");
+		}
+		int c = espiar();
+		if (c == '}' || c == ']') {
+			posicao++;
+			profundidade--;
+			return false;
+		}
+		if (primeiro[profundidade - 1]) {
+			primeiro[profundidade - 1] = false;
+		} else {
+			esperar(',');
+		}
+		return true;
+	}
+
+	/**
+	 * Lê o nome de um campo do objeto, incluindo os dois pontos.
+	 *
+	 * @return nome do campo
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	public String lerNome() throws IOException {
+		String nome = lerString();
+		esperar(':');
+		return nome;
+	}
+
+	/**
+	 * Lê uma string.
+	 *
+	 * @return conteúdo da string sem escapes
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	public String lerString() throws IOException {
+		esperar('"');
+		texto.setLength(0);
+		while (true) {
+			// Copia em bloco os trechos sem aspas ou escapes
+			int inicio = posicao;
+			while (posicao < limite && buffer[posicao] != '"' && buffer[posicao] != '\\') {
+				posicao++;
+			}
+			texto.append(buffer, inicio, posicao - inicio);
+
+			int c = ler();
+			if (c == FIM) {
+				throw erro("String não terminada");
+			}
+			if (c == '"') {
+				return texto.toString();
+			}
+			if (c == '\\') {
+				texto.append(lerEscape());
+			}
+		}
+	}
+
+	/**
+	 * Lê um número inteiro.
+	 *
+	 * @return valor lido
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	public long lerInteiro() throws IOException {
+		String valor = lerLiteral();
+		try {
+			return Long.parseLong(valor);
+		} catch (NumberFormatException e) {
+			throw erro("Número inválido: " + valor);
+		}
+	}
+
+	/**
+	 * Lê um valor booleano.
+	 *
+	 * @return valor lido
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	public boolean lerBooleano() throws IOException {
+		String valor = lerLiteral();
+		if (valor.equals("true") || valor.equals("false")) {
+			return valor.equals("true");
+		}
+		throw erro("Booleano inválido: " + valor);
+	}
+
+	/**
+	 * Verifica se o próximo valor é uma string.
+	 *
+	 * @return verdadeiro quando o próximo valor começa com aspas
+	 * @throws IOException - Erro na leitura
+	 */
+	public boolean proximoString() throws IOException {
+		return espiar() == '"';
+	}
+
+	/**
+	 * Descarta o próximo valor, qualquer que seja o tipo.
+	 *
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	public void pularValor() throws IOException {
+		int c = espiar();
+		if (c == '"') {
+			lerString();
+		} else if (c == '{') {
+			iniciarObjeto();
+			while (temProximo()) {
+				lerNome();
+				pularValor();
+			}
+		} else if (c == '[') {
+			iniciarLista();
+			while (temProximo()) {
+				pularValor();
+			}
+		} else {
+			lerLiteral();
+		}
+	}
+
+	/**
+	 * Quantidade de caracteres consumidos até o momento.
+	 *
+	 * @return posição no documento
+	 */
+	public long posicao() {
+		return lidos + posicao;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	/**
+	 * Lê números, booleanos e null.
+	 */
+	private String lerLiteral() throws IOException {
+		espiar();
+		texto.setLength(0);
+		while (true) {
+			if (posicao == limite && !preencher()) {
+				break;
+			}
+			char c = buffer[posicao];
+			if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+				break;
+			}
+			texto.append(c);
+			posicao++;
+		}
+		if (texto.length() == 0) {
+			throw erro("Valor esperado");
+		}
+		return texto.toString();
+	}
+
+	/**
+	 * Converte a sequência de escape após a barra invertida.
+	 */
+	private char lerEscape() throws IOException {
+		int c = ler();
+		switch (c) {
+		case '"':
+		case '\\':
+		case '/':
+			return (char) c;
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		case 't':
+			return '\t';
+		case 'u':
+			int valor = 0;
+			for (int i = 0; i < 4; i++) {
+				int digito = Character.digit(ler(), 16);
+				if (digito < 0) {
+					throw erro("Escape unicode inválido");
+				}
+				valor = (valor << 4) | digito;
+			}
+			return (char) valor;
+		default:
+			throw erro("Escape inválido");
+		}
+	}
+
+	private void empilhar() {
+		if (profundidade == primeiro.length) {
+			primeiro = Arrays.copyOf(primeiro, profundidade * 2);
+		}
+		primeiro[profundidade++] = true;
+	}
+
+	private void esperar(char esperado) throws IOException {
+		int c = espiar();
+		if (c != esperado) {
+			throw erro(String.format("Esperava '%c' mas encontrou %s", esperado,
+					c == FIM ? "o fim do arquivo" : "'" + (char) c + "'"));
+		}
+		posicao++;
+	}
+
+	/**
+	 * Próximo caractere que não seja espaço em branco, sem consumi-lo.
+	 */
+	private int espiar() throws IOException {
+		while (true) {
+			if (posicao == limite && !preencher()) {
+				return FIM;
+			}
+			char c = buffer[posicao];
+			if (!Character.isWhitespace(c)) {
+				return c;
+			}
+			posicao++;
+		}
+	}
+
+	private int ler() throws IOException {
+		if (posicao == limite && !preencher()) {
+			return FIM;
+		}
+		return buffer[posicao++];
+	}
+
+	private boolean preencher() throws IOException {
+		lidos += limite;
+		posicao = 0;
+		limite = 0;
+		int quantidade = reader.read(buffer, 0, buffer.length);
+		if (quantidade <= 0) {
+			return false;
+		}
+		limite = quantidade;
+		return true;
+	}
+
+	private IOException erro(String mensagem) {
+		return new IOException(String.format("JSON inválido na posição %d: %s", posicao(), mensagem));
+	}
+}
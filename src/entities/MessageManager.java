@@ -1,16 +1,29 @@
 package entities;
 
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.InputMismatchException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 
 public class MessageManager {
+	// Marcação de caractere removido na tabela de normalização
+	private static final char REMOVIDO = '\uFFFF';
+	// Tabela de normalização dos caracteres Latin-1, criada uma única vez
+	private static final char[] TABELA_NORMALIZACAO = criarTabelaNormalizacao();
+	// Área de escrita reaproveitada por thread, guardada só até este tamanho
+	private static final int BUFFER_MAXIMO = 4096;
+	private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<char[]>() {
+		@Override
+		protected char[] initialValue() {
+			return new char[256];
+		}
+	};
 	
+
 	/**
 	 * Valida palavra para conhecimento do bot
 	 * 
@@ -21,27 +34,39 @@ public class MessageManager {
 	 * @see validarNumero()
 	 */
 	public boolean validarPalavra(String palavra) {
+		return validarPalavra(palavra, new PrintWriter(System.out, true));
+	}
+	
+	/**
+	 * Valida palavra para conhecimento do bot, informando o motivo na saída da
+	 * sessão
+	 * 
+	 * @param palavra - texto original a ser validado
+	 * @param saida - destino das mensagens de validação
+	 * @return validação final com base nos critérios
+	 */
+	public boolean validarPalavra(String palavra, PrintWriter saida) {
 		// Valida palavra vazia
 		if (palavra.isEmpty() || palavra.trim().isEmpty()) {
-			System.out.println("Dados vazios não são válidos!");
+			saida.println("Dados vazios não são válidos!");
 			return true;
 		}
 		
 		// Valida palavra curta
 		if (palavra.length() < 2) {
-			System.out.println("Palavra-chave curta!");
+			saida.println("Palavra-chave curta!");
 			return true;
 		}
 		
 		// Valida digito
 		if (palavra.matches("\\d+")) {
 			try {
-				return validarNumero(palavra);
+				return validarNumero(palavra, saida);
 			}catch (InputMismatchException e) {
-				System.out.println("Entrada de dados invália: " + e.getMessage());
+				saida.println("Entrada de dados invália: " + e.getMessage());
 				return true;
 			}catch (NumberFormatException e) {
-				System.out.println("Formato inválido: " + e.getMessage());
+				saida.println("Formato inválido: " + e.getMessage());
 				return true;
 			}
 		}
@@ -58,6 +83,18 @@ public class MessageManager {
 	 * @return decisão de números válidos
 	 */
 	public boolean validarNumero(String palavra) {
+		return validarNumero(palavra, new PrintWriter(System.out, true));
+	}
+	
+	/**
+	 * Verifica dígitos para conhecimento do bot, informando o motivo na saída da
+	 * sessão
+	 * 
+	 * @param palavra - texto original a ser validado
+	 * @param saida - destino das mensagens de validação
+	 * @return decisão de números válidos
+	 */
+	public boolean validarNumero(String palavra, PrintWriter saida) {
 		// Converte texto para numero
 		int numero = Integer.parseInt(palavra);
 		// Separa digitos em linha
@@ -105,7 +142,7 @@ public class MessageManager {
 		
 		//Valida Sequência ou Repetição
 				if (isRep || isSeqCre || isSeqDec) {
-					System.out.println(
+					saida.println(
 							"Chatbot: Valores sequênciais ou repetidos não posso aceitar como palavra chave!"
 							);
 					return true;
@@ -121,28 +158,101 @@ public class MessageManager {
 	 * Converte para minúsculas, substitui caracteres acentuados
 	 * pelos equivalentes sem acento e remove pontuação específica.
 	 * 
+	 * Percorre a mensagem uma única vez consultando uma tabela pré-calculada.
+	 * Textos com caracteres fora do Latin-1 (ou em locales com regras próprias de
+	 * minúsculas) são convertidos antes com {@link String#toLowerCase()}, para que
+	 * o resultado seja sempre o mesmo da conversão original.
+	 * 
 	 * @param entrada - texto original a ser normalizado
 	 * @return texto normalizado em minúsculas sem acentos
-	 * @see #criarMapaAcentos()
+	 * @see #criarTabelaNormalizacao()
 	 */
 	public String tratarMensagem(String entrada) {
 		// Padrão das mensagens
-		String res = entrada.toLowerCase();
+		String res = precisaMinusculasCompletas(entrada) ? entrada.toLowerCase() : entrada;
+		int tamanho = res.length();
 		
-		Map<String, List<String>> acentos = criarMapaAcentos();
+		char[] buffer = BUFFER.get();
+		if (tamanho > BUFFER_MAXIMO) {
+			// Mensagem grande: área temporária, para não reter memória por thread
+			buffer = new char[tamanho];
+		} else if (buffer.length < tamanho) {
+			buffer = new char[Math.min(BUFFER_MAXIMO, Math.max(tamanho, buffer.length * 2))];
+			BUFFER.set(buffer);
+		}
+		
+		// Modifica acentos por letras e retira pontuação em uma única passada
+		boolean alterado = false;
+		int escrito = 0;
+		for (int i = 0; i < tamanho; i++) {
+			char c = res.charAt(i);
+			char normalizado = c < TABELA_NORMALIZACAO.length ? TABELA_NORMALIZACAO[c] : c;
+			if (normalizado != c) {
+				alterado = true;
+				if (normalizado == REMOVIDO) {
+					continue;
+				}
+			}
+			buffer[escrito++] = normalizado;
+		}
+
+		return alterado ? new String(buffer, 0, escrito) : res;
+	}
+	
+	/**
+	 * Verifica se a mensagem precisa da conversão completa para minúsculas.
+	 * 
+	 * A tabela cobre apenas o Latin-1 e as regras de minúsculas independentes de
+	 * idioma.
+	 * 
+	 * @param entrada - texto original
+	 * @return verdadeiro quando há caracteres fora da tabela ou locale especial
+	 */
+	private static boolean precisaMinusculasCompletas(String entrada) {
+		String idioma = Locale.getDefault().getLanguage();
+		if (idioma.equals("tr") || idioma.equals("az") || idioma.equals("lt")) {
+			return true;
+		}
+		for (int i = 0; i < entrada.length(); i++) {
+			if (entrada.charAt(i) >= TABELA_NORMALIZACAO.length) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Criação da tabela de normalização de caracteres
+	 * 
+	 * Cada posição do Latin-1 recebe sua letra minúscula, sem acento. A
+	 * pontuação retirada da mensagem recebe uma marcação de remoção.
+	 * 
+	 * @return tabela de conversão por caractere
+	 * @see #criarMapaAcentos()
+	 */
+	private static char[] criarTabelaNormalizacao() {
+		char[] tabela = new char[256];
+		for (int c = 0; c < tabela.length; c++) {
+			tabela[c] = Character.toLowerCase((char) c);
+		}
 		
 		// Modifica acentos por letras
-		for (Map.Entry<String, List<String>> acento: acentos.entrySet()) {
-			String letraBase = acento.getKey();
+		for (Map.Entry<String, List<String>> acento: new MessageManager().criarMapaAcentos().entrySet()) {
+			char letraBase = acento.getKey().charAt(0);
 			for (String letra: acento.getValue()) {
-				res = res.replace(letra, letraBase);
+				for (int c = 0; c < tabela.length; c++) {
+					if (tabela[c] == letra.charAt(0)) {
+						tabela[c] = letraBase;
+					}
+				}
 			}
 		}
 		
 		// Retira pontuação
-		res = res.replaceAll("[?!]", "");
-
-		return res;
+		tabela['?'] = REMOVIDO;
+		tabela['!'] = REMOVIDO;
+		
+		return tabela;
 	}
 	
 	/**
@@ -173,25 +283,30 @@ public class MessageManager {
 	 * 
 	 * @param mensagem texto normalizado para extração
 	 * @return lista de palavras relevantes
+	 * @see #tokenizar(String)
 	 */
 	public List<String> extrairPalavras(String mensagem){
-		// Lista de palavras genericas
-		Set<String> STOP_WORDS = new HashSet<>(
-				Arrays.asList( "o", "a", "os", "as", "de", "da", "do", "para", "com", "em", "por",
-				"que", "um", "uma", "é", "foi", "ser", "ter", "como", "mais", "muito", "bem", "já",
-				"ainda", "mas", "ou", "se", "me", "te", "nos", "lhe"
-		));
-		String[] temp = mensagem.split(" "); // Transforma mensagem em lista
-		
 		// Cria lista auxiliar
 		List<String> aux = new ArrayList<>();
 		// Adiciona palavras relevantes ao auxiliar
-		for (String item: temp) {
-			if (!STOP_WORDS.contains(item) && !item.isEmpty()) {
-				aux.add(item);
-			}
+		Tokenizador tokens = tokenizar(mensagem);
+		while (tokens.proximo()) {
+			aux.add(tokens.palavra());
 		}
 		
 		return aux;
 	}
+	
+	/**
+	 * Percorre as palavras relevantes sem criar uma lista.
+	 * 
+	 * Remove stop words e sequências de espaços ou tabulações, expondo cada
+	 * palavra como um trecho da própria mensagem.
+	 * 
+	 * @param mensagem texto normalizado para extração
+	 * @return tokenizador posicionado antes da primeira palavra
+	 */
+	public Tokenizador tokenizar(String mensagem) {
+		return new Tokenizador(mensagem);
+	}
 }
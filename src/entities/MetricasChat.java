@@ -0,0 +1,267 @@
+package entities;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas das mensagens processadas pelo chatbot.
+ *
+ * Mede a latência de cada etapa de uma mensagem em histogramas:
+ * <ul>
+ * <li>normalização do texto</li>
+ * <li>verificação dos comandos especiais</li>
+ * <li>busca da resposta no conhecimento</li>
+ * <li>registro de uma alteração (ensinar, editar, remover) para gravação</li>
+ * </ul>
+ * e conta mensagens, respostas encontradas no conhecimento, respostas padrão e
+ * alterações. Compartilhada por todas as sessões de um {@link MotorChatbot},
+ * exposta por JMX e pelo comando {@code metricas}.
+ *
+ * Desativada com {@code -Dchatbot.metricas=false}: como {@link #ATIVAS} é uma
+ * constante, o compilador JIT elimina as medições e nada é registrado.
+ */
+public class MetricasChat implements MetricasChatMBean {
+	/**
+	 * Indica se as métricas são coletadas.
+	 */
+	public static final boolean ATIVAS = Boolean.parseBoolean(System.getProperty("chatbot.metricas", "true"));
+
+	private static final AtomicInteger INSTANCIAS = new AtomicInteger();
+
+	private final HistogramaLatencia normalizacao = new HistogramaLatencia();
+	private final HistogramaLatencia comandos = new HistogramaLatencia();
+	private final HistogramaLatencia busca = new HistogramaLatencia();
+	private final HistogramaLatencia persistencia = new HistogramaLatencia();
+
+	private final LongAdder mensagens = new LongAdder();
+	private final LongAdder respostasConhecimento = new LongAdder();
+	private final LongAdder respostasPadrao = new LongAdder();
+	private final LongAdder ensinos = new LongAdder();
+	private final LongAdder edicoes = new LongAdder();
+	private final LongAdder remocoes = new LongAdder();
+
+	private final MotorChatbot motor;
+	private final MetricasPersistencia metricasPersistencia;
+	private ObjectName nomeJmx;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param motor                - motor medido (tamanho do conhecimento e cache)
+	 * @param metricasPersistencia - métricas de gravação incluídas no relatório
+	 */
+	public MetricasChat(MotorChatbot motor, MetricasPersistencia metricasPersistencia) {
+		this.motor = motor;
+		this.metricasPersistencia = metricasPersistencia;
+	}
+
+	/**
+	 * Início de uma medição.
+	 *
+	 * @return instante atual, ou 0 com as métricas desativadas
+	 */
+	public static long inicio() {
+		return ATIVAS ? System.nanoTime() : 0L;
+	}
+
+	void registrarNormalizacao(long inicio) {
+		if (ATIVAS) {
+			mensagens.increment();
+			normalizacao.registrar(System.nanoTime() - inicio);
+		}
+	}
+
+	void registrarComandos(long inicio) {
+		if (ATIVAS) {
+			comandos.registrar(System.nanoTime() - inicio);
+		}
+	}
+
+	/**
+	 * @param inicio     - início da busca
+	 * @param encontrada - verdadeiro quando a resposta veio do conhecimento
+	 */
+	void registrarBusca(long inicio, boolean encontrada) {
+		if (ATIVAS) {
+			busca.registrar(System.nanoTime() - inicio);
+			(encontrada ? respostasConhecimento : respostasPadrao).increment();
+		}
+	}
+
+	void registrarPersistencia(long inicio) {
+		if (ATIVAS) {
+			persistencia.registrar(System.nanoTime() - inicio);
+		}
+	}
+
+	void registrarEnsino() {
+		if (ATIVAS) {
+			ensinos.increment();
+		}
+	}
+
+	void registrarEdicao() {
+		if (ATIVAS) {
+			edicoes.increment();
+		}
+	}
+
+	void registrarRemocao() {
+		if (ATIVAS) {
+			remocoes.increment();
+		}
+	}
+
+	/**
+	 * Registra as métricas no servidor JMX da plataforma.
+	 *
+	 * O primeiro motor do processo usa o nome {@code chatbot:type=Metricas}; os
+	 * seguintes recebem um número.
+	 */
+	void registrarJmx() {
+		if (!ATIVAS) {
+			return;
+		}
+		int numero = INSTANCIAS.incrementAndGet();
+		try {
+			nomeJmx = new ObjectName("chatbot:type=Metricas" + (numero > 1 ? ",motor=" + numero : ""));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, nomeJmx);
+		} catch (JMException e) {
+			System.out.println("Erro ao registrar métricas no JMX: " + e.getMessage());
+			nomeJmx = null;
+		}
+	}
+
+	/**
+	 * Remove as métricas do servidor JMX.
+	 */
+	void removerJmx() {
+		if (nomeJmx == null) {
+			return;
+		}
+		MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+		try {
+			if (servidor.isRegistered(nomeJmx)) {
+				servidor.unregisterMBean(nomeJmx);
+			}
+		} catch (JMException e) {
+			// Já removido
+		}
+		nomeJmx = null;
+	}
+
+	@Override
+	public long getMensagens() {
+		return mensagens.sum();
+	}
+
+	@Override
+	public long getRespostasConhecimento() {
+		return respostasConhecimento.sum();
+	}
+
+	@Override
+	public long getRespostasPadrao() {
+		return respostasPadrao.sum();
+	}
+
+	@Override
+	public long getEnsinos() {
+		return ensinos.sum();
+	}
+
+	@Override
+	public long getEdicoes() {
+		return edicoes.sum();
+	}
+
+	@Override
+	public long getRemocoes() {
+		return remocoes.sum();
+	}
+
+	@Override
+	public int getPalavrasChave() {
+		return motor.tamanho();
+	}
+
+	@Override
+	public long getCacheAcertos() {
+		return motor.getCache().getAcertos();
+	}
+
+	@Override
+	public long getCacheFalhas() {
+		return motor.getCache().getFalhas();
+	}
+
+	@Override
+	public double getNormalizacaoP50() {
+		return normalizacao.percentilMicros(0.5);
+	}
+
+	@Override
+	public double getNormalizacaoP99() {
+		return normalizacao.percentilMicros(0.99);
+	}
+
+	@Override
+	public double getComandosP50() {
+		return comandos.percentilMicros(0.5);
+	}
+
+	@Override
+	public double getComandosP99() {
+		return comandos.percentilMicros(0.99);
+	}
+
+	@Override
+	public double getBuscaP50() {
+		return busca.percentilMicros(0.5);
+	}
+
+	@Override
+	public double getBuscaP99() {
+		return busca.percentilMicros(0.99);
+	}
+
+	@Override
+	public double getPersistenciaP50() {
+		return persistencia.percentilMicros(0.5);
+	}
+
+	@Override
+	public double getPersistenciaP99() {
+		return persistencia.percentilMicros(0.99);
+	}
+
+	@Override
+	public String relatorio() {
+		if (!ATIVAS) {
+			return "Métricas desativadas (-Dchatbot.metricas=false)";
+		}
+		StringBuilder texto = new StringBuilder();
+		texto.append(String.format("mensagens: %d (conhecimento %d, padrão %d)%n", getMensagens(),
+				getRespostasConhecimento(), getRespostasPadrao()));
+		texto.append(String.format("alterações: ensinar %d, editar %d, remover %d%n", getEnsinos(), getEdicoes(),
+				getRemocoes()));
+		texto.append(String.format("conhecimento: %d palavra(s)-chave(s)%n", getPalavrasChave()));
+		texto.append(String.format("normalização: %s%n", normalizacao));
+		texto.append(String.format("comandos:     %s%n", comandos));
+		texto.append(String.format("busca:        %s%n", busca));
+		texto.append(String.format("persistência: %s%n", persistencia));
+		texto.append(String.format("%s%n", motor.getCache()));
+		texto.append(String.format("gravação: %s", metricasPersistencia));
+		return texto.toString();
+	}
+
+	@Override
+	public String toString() {
+		return relatorio();
+	}
+}
@@ -0,0 +1,49 @@
+package entities;
+
+/**
+ * Métricas do chatbot expostas por JMX (jconsole, VisualVM).
+ *
+ * Registradas como {@code chatbot:type=Metricas}. Latências em microssegundos.
+ *
+ * @see MetricasChat
+ */
+public interface MetricasChatMBean {
+	long getMensagens();
+
+	long getRespostasConhecimento();
+
+	long getRespostasPadrao();
+
+	long getEnsinos();
+
+	long getEdicoes();
+
+	long getRemocoes();
+
+	int getPalavrasChave();
+
+	long getCacheAcertos();
+
+	long getCacheFalhas();
+
+	double getNormalizacaoP50();
+
+	double getNormalizacaoP99();
+
+	double getComandosP50();
+
+	double getComandosP99();
+
+	double getBuscaP50();
+
+	double getBuscaP99();
+
+	double getPersistenciaP50();
+
+	double getPersistenciaP99();
+
+	/**
+	 * @return relatório completo em texto
+	 */
+	String relatorio();
+}
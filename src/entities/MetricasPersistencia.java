@@ -0,0 +1,110 @@
+package entities;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de gravação do conhecimento.
+ *
+ * Acumula quantidade, latência e bytes gravados de snapshots e do diário de
+ * alterações. Pode ser consultada por qualquer thread.
+ */
+public class MetricasPersistencia {
+	private final LongAdder snapshots = new LongAdder();
+	private final LongAdder bytesSnapshots = new LongAdder();
+	private final LongAdder nanosSnapshots = new LongAdder();
+	private final AtomicLong maiorNanosSnapshot = new AtomicLong();
+
+	private final LongAdder gravacoesDiario = new LongAdder();
+	private final LongAdder bytesDiario = new LongAdder();
+	private final LongAdder nanosDiario = new LongAdder();
+	private final AtomicLong maiorNanosDiario = new AtomicLong();
+
+	private final LongAdder sincronizacoes = new LongAdder();
+
+	void registrarSnapshot(long bytes, long nanos) {
+		snapshots.increment();
+		bytesSnapshots.add(bytes);
+		nanosSnapshots.add(nanos);
+		atualizarMaior(maiorNanosSnapshot, nanos);
+	}
+
+	void registrarDiario(long bytes, long nanos) {
+		gravacoesDiario.increment();
+		bytesDiario.add(bytes);
+		nanosDiario.add(nanos);
+		atualizarMaior(maiorNanosDiario, nanos);
+	}
+
+	void registrarSincronizacao() {
+		sincronizacoes.increment();
+	}
+
+	public long getSnapshots() {
+		return snapshots.sum();
+	}
+
+	public long getBytesSnapshots() {
+		return bytesSnapshots.sum();
+	}
+
+	public long getGravacoesDiario() {
+		return gravacoesDiario.sum();
+	}
+
+	public long getBytesDiario() {
+		return bytesDiario.sum();
+	}
+
+	public long getSincronizacoes() {
+		return sincronizacoes.sum();
+	}
+
+	/**
+	 * @return latência média de um snapshot em microssegundos
+	 */
+	public double getMediaSnapshotMicros() {
+		return media(nanosSnapshots.sum(), snapshots.sum());
+	}
+
+	/**
+	 * @return maior latência de um snapshot em microssegundos
+	 */
+	public double getMaiorSnapshotMicros() {
+		return maiorNanosSnapshot.get() / 1000.0;
+	}
+
+	/**
+	 * @return latência média de uma gravação no diário em microssegundos
+	 */
+	public double getMediaDiarioMicros() {
+		return media(nanosDiario.sum(), gravacoesDiario.sum());
+	}
+
+	/**
+	 * @return maior latência de uma gravação no diário em microssegundos
+	 */
+	public double getMaiorDiarioMicros() {
+		return maiorNanosDiario.get() / 1000.0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"snapshots=%d (%d bytes, média %.1f us, máx %.1f us); diário=%d (%d bytes, média %.1f us, máx %.1f us); fsync=%d",
+				getSnapshots(), getBytesSnapshots(), getMediaSnapshotMicros(), getMaiorSnapshotMicros(),
+				getGravacoesDiario(), getBytesDiario(), getMediaDiarioMicros(), getMaiorDiarioMicros(),
+				getSincronizacoes());
+	}
+
+	private static double media(long nanos, long quantidade) {
+		return quantidade == 0 ? 0 : nanos / 1000.0 / quantidade;
+	}
+
+	private static void atualizarMaior(AtomicLong maior, long valor) {
+		long atual;
+		while (valor > (atual = maior.get()) && !maior.compareAndSet(atual, valor)) {
+			// Tenta novamente até registrar o maior valor
+		}
+	}
+}
@@ -0,0 +1,470 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Motor de conversa do chatbot.
+ *
+ * Reúne o conhecimento, o índice de busca e a persistência, e é compartilhado
+ * por todas as sessões de conversa do processo. Gerar respostas não usa travas
+ * exclusivas; ensinar, editar e remover travam apenas a faixa da palavra-chave
+ * alterada, de modo que alterações em palavras-chave diferentes seguem em
+ * paralelo.
+ *
+ * O estado de cada conversa (nome do usuário, diálogo em andamento) fica em
+ * {@link SessaoChat}.
+ */
+public class MotorChatbot {
+	// Quantidade de faixas de trava das palavras-chave (potência de 2)
+	private static final int FAIXAS = 64;
+	// Termo do cache das mensagens sem candidatas ou corrigidas pela busca
+	// aproximada, que qualquer palavra-chave incluída ou retirada pode mudar
+	private static final String SEM_CANDIDATAS = "";
+
+	private final FileManager fileManager;
+	private final MessageManager messageManager = new MessageManager();
+	private final BaseConhecimento conhecimento;
+	private final IndiceConhecimento indice = new IndiceConhecimento();
+	// Palavras-chave em ordem alfabética, para a listagem paginada
+	private final ConcurrentSkipListSet<String> chavesOrdenadas = new ConcurrentSkipListSet<>();
+	private final CacheRespostas cache = CacheRespostas.configurado();
+	private final MetricasChat metricas;
+	// Grava alterações pendentes se a JVM for desligada sem encerrar o motor
+	private final Thread desligamento;
+
+	// Alterações na mesma faixa são aplicadas uma de cada vez
+	private final Object[] travas = new Object[FAIXAS];
+	// Alterações compartilham a trava; a cópia para o snapshot a usa sozinha
+	private final ReentrantReadWriteLock travaSnapshot = new ReentrantReadWriteLock();
+
+	/**
+	 * Construtor com o arquivo de conhecimento padrão.
+	 */
+	public MotorChatbot() {
+		this(new FileManager());
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * Carrega o conhecimento uma única vez e indexa as palavras-chave.
+	 *
+	 * @param fileManager - persistência do conhecimento
+	 */
+	public MotorChatbot(FileManager fileManager) {
+		this.fileManager = fileManager;
+		for (int i = 0; i < FAIXAS; i++) {
+			travas[i] = new Object();
+		}
+		// Carrega o conhecimento uma única vez
+		conhecimento = BaseConhecimento.configurada(fileManager.carregarConhecimento(),
+				fileManager.isCargaPreguicosa());
+		desligamento = new Thread(fileManager::encerrar, "chatbot-desligamento");
+		Runtime.getRuntime().addShutdownHook(desligamento);
+		// Indexa as palavras-chave carregadas
+		for (String palavraChave : conhecimento.palavrasChave()) {
+			indice.adicionar(palavraChave);
+			chavesOrdenadas.add(palavraChave);
+		}
+		metricas = new MetricasChat(this, fileManager.getMetricas());
+		metricas.registrarJmx();
+	}
+
+	/**
+	 * Gera resposta contextual baseada na mensagem do usuário.
+	 *
+	 * Uma palavra-chave de frase presente inteira na mensagem tem prioridade;
+	 * sem frase, utiliza sistema de pontuação para encontrar a melhor
+	 * correspondência entre palavras da mensagem e palavras-chave do
+	 * conhecimento, e sem nenhuma correspondência tenta corrigir erros de
+	 * digitação pela busca aproximada. Se nenhuma correspondência for
+	 * encontrada, retorna resposta padrão incentivando o usuário a ensinar sobre
+	 * o assunto.
+	 *
+	 * @param mensagem    - texto normalizado enviado pelo usuário
+	 * @param nomeUsuario - nome usado nas saudações
+	 * @param selecao     - estratégia de escolha das respostas da sessão
+	 * @return resposta gerada pelo chatbot
+	 * @see MessageManager#tokenizar(String)
+	 */
+	public String gerarResposta(String mensagem, String nomeUsuario, EstrategiaSelecao selecao) {
+		Comando cortesia = Comando.cortesia(mensagem);
+		// Saudação do usuário
+		if (cortesia == Comando.SAUDACAO) {
+			String[] resposta = { String.format("Olá, como vai %s?", nomeUsuario), "Opa, tudo bom?",
+					String.format("Tudo tranquilo %s?", nomeUsuario) };
+			return resposta[selecao.sortear(resposta.length)];
+		}
+
+		// Agradecimento do usuário
+		if (cortesia == Comando.AGRADECIMENTO) {
+			String[] resposta = { "De nada, qualquer coisa estou aqui para te responder",
+					"Qualquer coisa pode falar comigo que nós desvendamos juntos" };
+			return resposta[selecao.sortear(resposta.length)];
+		}
+
+		long inicio = MetricasChat.inicio();
+		// Mensagens repetidas não são tokenizadas nem pontuadas de novo
+		List<String> palavrasComMelhorScore = cache.buscar(mensagem);
+		if (palavrasComMelhorScore == null) {
+			long versao = cache.versao();
+			// Percorre as palavras da mensagem e busca no índice a frase mais
+			// longa ou as palavras-chave ligadas a elas
+			palavrasComMelhorScore = indice.buscar(messageManager.tokenizar(mensagem));
+			if (cache.isAtivo()) {
+				List<String> termosMensagem = termos(mensagem);
+				// As candidatas corrigidas não têm os termos da mensagem
+				if (indice.isAproximado()
+						&& (palavrasComMelhorScore.isEmpty() || indice.contemDesconhecido(termosMensagem))) {
+					termosMensagem.add(SEM_CANDIDATAS);
+				}
+				cache.guardar(mensagem, termosMensagem, palavrasComMelhorScore, versao);
+			}
+		}
+
+		if (!palavrasComMelhorScore.isEmpty()) {
+			// Coleta palavra dinamicamente
+			String palavraEscolhida = palavrasComMelhorScore.get(selecao.sortear(palavrasComMelhorScore.size()));
+			// Obtém uma lista de respostas (removida por outra sessão desde a busca)
+			List<String> respostas = conhecimento.respostas(palavraEscolhida);
+			if (respostas != null) {
+				// Responde dinâmicamente o usuário
+				String resposta = selecao.escolherResposta(palavraEscolhida, respostas);
+				metricas.registrarBusca(inicio, true);
+				return resposta;
+			}
+		}
+		metricas.registrarBusca(inicio, false);
+
+		// Resposta padrão
+		String[] defaultResponse = { "Não entendo sobre esse assunto, poderia me ensinar sobre?",
+				"Hmm, interessante, pode me falar mais sobre?", "Que tal me ensinar mais sobre isso?" };
+		return defaultResponse[selecao.sortear(defaultResponse.length)];
+	}
+
+	/**
+	 * Ensina uma resposta ao chatbot.
+	 *
+	 * A palavra-chave é guardada inteira, como frase, na forma de
+	 * {@link #chave(String)}: "tempo de hoje" vira a palavra-chave "tempo hoje",
+	 * encontrada em mensagens que contenham essas palavras em sequência.
+	 *
+	 * @param palavraChave - palavra-chave normalizada (ex: tempo de hoje)
+	 * @param resposta     - resposta normalizada
+	 * @return palavra-chave que recebeu a resposta, ou vazia se ela já a possuía,
+	 *         não tem palavras relevantes ou o motor foi encerrado
+	 * @see #isEncerrado()
+	 */
+	public List<String> ensinar(String palavraChave, String resposta) {
+		List<String> alteradas = new ArrayList<>(1);
+		String chave = chave(palavraChave);
+		// Palavra-chave só com palavras genéricas nunca seria encontrada
+		if (!messageManager.tokenizar(chave).proximo()) {
+			return alteradas;
+		}
+		synchronized (trava(chave)) {
+			List<String> respostas = conhecimento.respostas(chave);
+			if ((respostas == null || !respostas.contains(resposta))
+					&& executar(OperacaoConhecimento.adicionar(chave, resposta))) {
+				alteradas.add(chave);
+			}
+		}
+		if (!alteradas.isEmpty()) {
+			metricas.registrarEnsino();
+		}
+		verificarCompactacao();
+		return alteradas;
+	}
+
+	/**
+	 * Forma guardada de uma palavra-chave digitada.
+	 *
+	 * As palavras relevantes, em ordem, separadas por um espaço: "tempo de hoje"
+	 * e "tempo hoje" são a mesma palavra-chave. Sem palavras relevantes, o texto
+	 * é mantido, para encontrar palavras-chave antigas.
+	 *
+	 * @param palavraChave - palavra-chave normalizada
+	 * @return palavra-chave como guardada no conhecimento
+	 */
+	public String chave(String palavraChave) {
+		List<String> termos = termos(palavraChave);
+		return termos.isEmpty() ? palavraChave.trim() : String.join(" ", termos);
+	}
+
+	/**
+	 * Forma guardada do início de uma palavra-chave, para a listagem.
+	 *
+	 * Como em {@link #chave(String)}, "tempo de" vira "tempo". A última palavra,
+	 * que pode estar incompleta ("tempo ho"), é mantida; se for genérica, sai do
+	 * prefixo, o que apenas amplia a listagem.
+	 *
+	 * @param prefixo - início digitado, normalizado
+	 * @return prefixo comparável às palavras-chave guardadas
+	 */
+	public String prefixoChave(String prefixo) {
+		return chave(prefixo);
+	}
+
+	/**
+	 * Substitui uma resposta de uma palavra-chave.
+	 *
+	 * @param palavraChave   - palavra-chave normalizada
+	 * @param respostaAntiga - resposta a ser substituída
+	 * @param respostaNova   - nova resposta
+	 * @return falso se a resposta antiga não existe mais ou o motor foi encerrado
+	 */
+	public boolean editar(String palavraChave, String respostaAntiga, String respostaNova) {
+		synchronized (trava(palavraChave)) {
+			List<String> respostas = conhecimento.respostas(palavraChave);
+			if (respostas == null || !respostas.contains(respostaAntiga)
+					|| !executar(OperacaoConhecimento.editar(palavraChave, respostaAntiga, respostaNova))) {
+				return false;
+			}
+		}
+		metricas.registrarEdicao();
+		verificarCompactacao();
+		return true;
+	}
+
+	/**
+	 * Remove uma resposta de uma palavra-chave.
+	 *
+	 * A palavra-chave é removida junto da sua última resposta.
+	 *
+	 * @param palavraChave - palavra-chave normalizada
+	 * @param resposta     - resposta a ser removida
+	 * @return falso se a resposta não existe mais ou o motor foi encerrado
+	 */
+	public boolean removerResposta(String palavraChave, String resposta) {
+		synchronized (trava(palavraChave)) {
+			List<String> respostas = conhecimento.respostas(palavraChave);
+			if (respostas == null || !respostas.contains(resposta)
+					|| !executar(OperacaoConhecimento.removerResposta(palavraChave, resposta))) {
+				return false;
+			}
+		}
+		metricas.registrarRemocao();
+		verificarCompactacao();
+		return true;
+	}
+
+	/**
+	 * Remove uma palavra-chave com todas as respostas.
+	 *
+	 * @param palavraChave - palavra-chave normalizada
+	 * @return falso se a palavra-chave não existe ou o motor foi encerrado
+	 */
+	public boolean removerPalavraChave(String palavraChave) {
+		synchronized (trava(palavraChave)) {
+			if (!conhecimento.contem(palavraChave)
+					|| !executar(OperacaoConhecimento.removerChave(palavraChave))) {
+				return false;
+			}
+		}
+		metricas.registrarRemocao();
+		verificarCompactacao();
+		return true;
+	}
+
+	/**
+	 * Respostas de uma palavra-chave.
+	 *
+	 * @param palavraChave - palavra-chave normalizada
+	 * @return respostas somente para leitura, ou null se a palavra-chave não
+	 *         existe
+	 */
+	public List<String> respostas(String palavraChave) {
+		return conhecimento.respostas(palavraChave);
+	}
+
+	/**
+	 * Palavras-chave do conhecimento.
+	 *
+	 * @return visão somente para leitura
+	 */
+	public Set<String> palavrasChave() {
+		return conhecimento.palavrasChave();
+	}
+
+	/**
+	 * Página da listagem das palavras-chave, em ordem alfabética.
+	 *
+	 * Percorre apenas as palavras-chave da página, sem copiar o conhecimento.
+	 * Palavras-chave incluídas ou removidas entre uma página e outra aparecem ou
+	 * deixam de aparecer nas páginas seguintes.
+	 *
+	 * @param prefixo - início das palavras-chave listadas, na forma de
+	 *                {@link #prefixoChave(String)} (vazio para todas)
+	 * @param cursor  - cursor da página anterior, ou null para a primeira
+	 * @param tamanho - quantidade máxima de palavras-chave na página (no mínimo 1)
+	 * @return página com o cursor da próxima
+	 */
+	public PaginaConhecimento listar(String prefixo, String cursor, int tamanho) {
+		tamanho = Math.max(1, tamanho);
+		NavigableSet<String> seguintes = cursor != null && cursor.compareTo(prefixo) >= 0
+				? chavesOrdenadas.tailSet(cursor, false)
+				: chavesOrdenadas.tailSet(prefixo, true);
+		List<String> pagina = new ArrayList<>(Math.min(tamanho, 64));
+		for (String palavraChave : seguintes) {
+			// As palavras-chave com o prefixo são consecutivas
+			if (!palavraChave.startsWith(prefixo)) {
+				break;
+			}
+			if (pagina.size() == tamanho) {
+				return new PaginaConhecimento(pagina, pagina.get(tamanho - 1));
+			}
+			pagina.add(palavraChave);
+		}
+		return new PaginaConhecimento(pagina, null);
+	}
+
+	/**
+	 * Quantidade de palavras-chave do conhecimento.
+	 *
+	 * @return total de palavras-chave
+	 */
+	public int tamanho() {
+		return conhecimento.tamanho();
+	}
+
+	/**
+	 * Cache das palavras-chave candidatas de cada mensagem.
+	 *
+	 * @return cache com os contadores de acertos e falhas
+	 */
+	public CacheRespostas getCache() {
+		return cache;
+	}
+
+	/**
+	 * Métricas das mensagens e alterações processadas.
+	 *
+	 * @return métricas compartilhadas pelas sessões
+	 */
+	public MetricasChat getMetricas() {
+		return metricas;
+	}
+
+	public MessageManager getMessageManager() {
+		return messageManager;
+	}
+
+	/**
+	 * Indica se a persistência foi encerrada, pelo próprio motor ou pelo
+	 * desligamento da JVM. Depois disso ensinar, editar e remover não alteram
+	 * nada.
+	 *
+	 * @return verdadeiro quando alterações não são mais aceitas
+	 */
+	public boolean isEncerrado() {
+		return fileManager.isEncerrado();
+	}
+
+	/**
+	 * Grava as alterações pendentes e encerra a persistência.
+	 *
+	 * @see FileManager#encerrar()
+	 */
+	public void encerrar() {
+		try {
+			Runtime.getRuntime().removeShutdownHook(desligamento);
+		} catch (IllegalStateException e) {
+			// A JVM já está sendo desligada e o gancho roda de qualquer forma
+		}
+		metricas.removerJmx();
+		fileManager.encerrar();
+	}
+
+	/**
+	 * Envia a alteração ao diário e a aplica no conhecimento e no índice.
+	 *
+	 * Chamado com a trava da palavra-chave, o que mantém no diário a mesma ordem
+	 * em que as alterações da palavra-chave são aplicadas. A alteração vai ao
+	 * diário antes, para que nada seja aplicado sem ser gravado depois do
+	 * encerramento da persistência.
+	 *
+	 * @return falso se a persistência foi encerrada e nada foi alterado
+	 */
+	private boolean executar(OperacaoConhecimento operacao) {
+		travaSnapshot.readLock().lock();
+		try {
+			long inicio = MetricasChat.inicio();
+			if (!fileManager.registrarOperacao(operacao)) {
+				return false;
+			}
+			metricas.registrarPersistencia(inicio);
+
+			String chave = operacao.getChave();
+			boolean existia = conhecimento.contem(chave);
+			conhecimento.aplicar(operacao);
+			// Mantém o índice sincronizado
+			boolean existe = conhecimento.contem(chave);
+			if (existe) {
+				indice.adicionar(chave);
+				chavesOrdenadas.add(chave);
+			} else {
+				indice.remover(chave);
+				chavesOrdenadas.remove(chave);
+			}
+			// Só a inclusão ou retirada da palavra-chave muda as candidatas. Com
+			// pontuação global ela muda o peso de todos os termos, inclusive os
+			// de mensagens sem nenhum termo da palavra-chave
+			if (existe != existia && indice.isPontuacaoGlobal()) {
+				cache.invalidarTodas();
+			} else if (existe != existia) {
+				List<String> termosChave = termos(chave);
+				if (indice.isAproximado()) {
+					termosChave.add(SEM_CANDIDATAS);
+				}
+				cache.invalidar(termosChave);
+			}
+			return true;
+		} finally {
+			travaSnapshot.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Inicia a compactação do diário quando ele passa do limite.
+	 *
+	 * A cópia é feita sem alterações em andamento, para que o snapshot contenha
+	 * exatamente as operações enviadas antes dele.
+	 */
+	private void verificarCompactacao() {
+		// Depois do encerramento o diário continua valendo
+		if (!fileManager.compactacaoNecessaria() || fileManager.isEncerrado()) {
+			return;
+		}
+		travaSnapshot.writeLock().lock();
+		try {
+			// Outra sessão pode ter iniciado a compactação
+			if (fileManager.compactacaoNecessaria()) {
+				fileManager.iniciarCompactacao(conhecimento.copiar());
+			}
+		} finally {
+			travaSnapshot.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Termos relevantes de um texto normalizado.
+	 */
+	private List<String> termos(String texto) {
+		List<String> termos = new ArrayList<>();
+		Tokenizador tokens = messageManager.tokenizar(texto);
+		while (tokens.proximo()) {
+			termos.add(tokens.palavra());
+		}
+		return termos;
+	}
+
+	private Object trava(String palavraChave) {
+		int hash = palavraChave.hashCode();
+		return travas[(hash ^ (hash >>> 16)) & (FAIXAS - 1)];
+	}
+}
@@ -0,0 +1,45 @@
+package entities;
+
+/**
+ * Motor de pontuação das palavras-chave.
+ *
+ * Define quanto vale cada termo da mensagem encontrado em uma palavra-chave. O
+ * índice soma os pesos dos termos cobertos e escolhe as palavras-chave com maior
+ * pontuação. As estatísticas chegam como tipos primitivos para que a pontuação
+ * de uma mensagem não crie objetos.
+ *
+ * @see IndiceConhecimento
+ */
+public interface MotorPontuacao {
+
+	/**
+	 * Calcula a raridade (IDF) de um termo.
+	 *
+	 * @param frequenciaDocumento - quantidade de palavras-chave com o termo
+	 * @param totalEntradas       - quantidade total de palavras-chave
+	 * @return peso de raridade do termo
+	 */
+	float idf(int frequenciaDocumento, int totalEntradas);
+
+	/**
+	 * Calcula o peso de um termo coberto por uma palavra-chave.
+	 *
+	 * @param idf            - raridade do termo
+	 * @param tamanhoEntrada - quantidade de termos da palavra-chave
+	 * @param tamanhoMedio   - média de termos por palavra-chave
+	 * @return peso somado ao score da palavra-chave
+	 */
+	float pontuar(float idf, int tamanhoEntrada, float tamanhoMedio);
+
+	/**
+	 * Indica se os pesos dependem do total de palavras-chave ou do tamanho médio.
+	 *
+	 * Nesse caso incluir ou retirar qualquer palavra-chave pode mudar a melhor
+	 * candidata de uma mensagem sem nenhum termo em comum com ela.
+	 *
+	 * @return verdadeiro se a pontuação usa estatísticas de todo o conhecimento
+	 */
+	default boolean isGlobal() {
+		return true;
+	}
+}
@@ -0,0 +1,212 @@
+package entities;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alteração no conhecimento do chatbot.
+ *
+ * Representa uma operação de ensinar, editar ou remover, registrada no diário
+ * de alterações e reaplicada na carga do conhecimento. As operações descrevem o
+ * estado final desejado (resposta presente ou ausente), por isso reaplicar o
+ * mesmo diário mais de uma vez produz o mesmo conhecimento.
+ *
+ * @see DiarioConhecimento
+ */
+public class OperacaoConhecimento {
+
+	/**
+	 * Tipos de operação e seus códigos no diário.
+	 */
+	public enum Tipo {
+		ADICIONAR("+"), EDITAR("~"), REMOVER_RESPOSTA("-"), REMOVER_CHAVE("x");
+
+		private final String codigo;
+
+		Tipo(String codigo) {
+			this.codigo = codigo;
+		}
+
+		public String getCodigo() {
+			return codigo;
+		}
+
+		/**
+		 * Obtém o tipo a partir do código gravado no diário.
+		 *
+		 * @param codigo - código da operação
+		 * @return tipo correspondente
+		 * @throws IllegalArgumentException quando o código é desconhecido
+		 */
+		public static Tipo porCodigo(String codigo) {
+			for (Tipo tipo : values()) {
+				if (tipo.codigo.equals(codigo)) {
+					return tipo;
+				}
+			}
+			throw new IllegalArgumentException("Operação desconhecida: " + codigo);
+		}
+	}
+
+	private final Tipo tipo;
+	private final String chave;
+	private final String resposta;
+	private final String respostaNova;
+
+	private OperacaoConhecimento(Tipo tipo, String chave, String resposta, String respostaNova) {
+		this.tipo = tipo;
+		this.chave = chave;
+		this.resposta = resposta;
+		this.respostaNova = respostaNova;
+	}
+
+	/**
+	 * Resposta ensinada para uma palavra-chave.
+	 */
+	public static OperacaoConhecimento adicionar(String chave, String resposta) {
+		return new OperacaoConhecimento(Tipo.ADICIONAR, chave, resposta, null);
+	}
+
+	/**
+	 * Resposta de uma palavra-chave substituída por outra.
+	 */
+	public static OperacaoConhecimento editar(String chave, String respostaAntiga, String respostaNova) {
+		return new OperacaoConhecimento(Tipo.EDITAR, chave, respostaAntiga, respostaNova);
+	}
+
+	/**
+	 * Resposta removida de uma palavra-chave.
+	 */
+	public static OperacaoConhecimento removerResposta(String chave, String resposta) {
+		return new OperacaoConhecimento(Tipo.REMOVER_RESPOSTA, chave, resposta, null);
+	}
+
+	/**
+	 * Palavra-chave removida com todas as respostas.
+	 */
+	public static OperacaoConhecimento removerChave(String chave) {
+		return new OperacaoConhecimento(Tipo.REMOVER_CHAVE, chave, null, null);
+	}
+
+	public Tipo getTipo() {
+		return tipo;
+	}
+
+	public String getChave() {
+		return chave;
+	}
+
+	public String getResposta() {
+		return resposta;
+	}
+
+	public String getRespostaNova() {
+		return respostaNova;
+	}
+
+	/**
+	 * Aplica a operação no conhecimento.
+	 *
+	 * Palavras-chave sem respostas são removidas.
+	 *
+	 * @param conhecimento - conhecimento a ser alterado
+	 */
+	public void aplicar(Map<String, List<String>> conhecimento) {
+		conhecimento.compute(chave, (k, respostas) -> aplicar(respostas));
+	}
+
+	/**
+	 * Calcula as respostas da palavra-chave após a operação.
+	 *
+	 * A lista atual não é alterada: o resultado é sempre uma lista nova, o que
+	 * permite publicar a alteração de uma só vez para leitores concorrentes.
+	 *
+	 * @param respostas - respostas atuais (null quando a palavra-chave não existe)
+	 * @return novas respostas ou null quando a palavra-chave deve ser removida
+	 */
+	public List<String> aplicar(List<String> respostas) {
+		if (tipo == Tipo.REMOVER_CHAVE) {
+			return null;
+		}
+		List<String> novas = respostas != null ? new ArrayList<>(respostas) : new ArrayList<>(1);
+		switch (tipo) {
+		case ADICIONAR:
+			adicionarResposta(novas, resposta);
+			break;
+		case EDITAR:
+			novas.remove(resposta);
+			adicionarResposta(novas, respostaNova);
+			break;
+		default:
+			novas.remove(resposta);
+			break;
+		}
+		return novas.isEmpty() ? null : novas;
+	}
+
+	private static void adicionarResposta(List<String> respostas, String valor) {
+		if (!respostas.contains(valor)) {
+			respostas.add(valor);
+		}
+	}
+
+	/**
+	 * Converte a operação em uma linha do diário (lista JSON).
+	 *
+	 * @return linha terminada em quebra de linha
+	 */
+	public String paraLinha() {
+		StringWriter linha = new StringWriter();
+		try {
+			linha.write("[\"" + tipo.getCodigo() + "\",");
+			FileManager.escreverString(chave, linha);
+			if (resposta != null) {
+				linha.write(",");
+				FileManager.escreverString(resposta, linha);
+			}
+			if (respostaNova != null) {
+				linha.write(",");
+				FileManager.escreverString(respostaNova, linha);
+			}
+			linha.write("]\n");
+		} catch (IOException e) {
+			// StringWriter não lança exceções de escrita
+			throw new IllegalStateException(e);
+		}
+		return linha.toString();
+	}
+
+	/**
+	 * Lê a próxima operação do diário.
+	 *
+	 * @param leitor - leitor posicionado no início de uma linha do diário
+	 * @return operação lida
+	 * @throws IOException - Erro na leitura ou linha inválida
+	 */
+	public static OperacaoConhecimento ler(LeitorJson leitor) throws IOException {
+		List<String> campos = new ArrayList<>(4);
+		leitor.iniciarLista();
+		while (leitor.temProximo()) {
+			campos.add(leitor.lerString());
+		}
+
+		try {
+			Tipo tipo = Tipo.porCodigo(campos.get(0));
+			switch (tipo) {
+			case ADICIONAR:
+				return adicionar(campos.get(1), campos.get(2));
+			case EDITAR:
+				return editar(campos.get(1), campos.get(2), campos.get(3));
+			case REMOVER_RESPOSTA:
+				return removerResposta(campos.get(1), campos.get(2));
+			default:
+				return removerChave(campos.get(1));
+			}
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("Operação inválida no diário: " + campos, e);
+		}
+	}
+}
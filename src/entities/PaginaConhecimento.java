@@ -0,0 +1,42 @@
+package entities;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página da listagem de palavras-chave, em ordem alfabética.
+ *
+ * @see MotorChatbot#listar(String, String, int)
+ */
+public class PaginaConhecimento {
+	private final List<String> palavrasChave;
+	private final String cursor;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param palavrasChave - palavras-chave da página, em ordem
+	 * @param cursor        - posição da próxima página, ou null na última
+	 */
+	public PaginaConhecimento(List<String> palavrasChave, String cursor) {
+		this.palavrasChave = Collections.unmodifiableList(palavrasChave);
+		this.cursor = cursor;
+	}
+
+	/**
+	 * @return palavras-chave da página, somente para leitura
+	 */
+	public List<String> getPalavrasChave() {
+		return palavrasChave;
+	}
+
+	/**
+	 * Cursor da próxima página: a última palavra-chave desta. Continua válido
+	 * mesmo que ela seja removida.
+	 *
+	 * @return cursor, ou null quando não há mais páginas
+	 */
+	public String getCursor() {
+		return cursor;
+	}
+}
@@ -0,0 +1,41 @@
+package entities;
+
+import java.util.Locale;
+
+/**
+ * Política de descarte do cache de respostas.
+ *
+ * @see CacheRespostas
+ */
+public enum PoliticaCache {
+	/**
+	 * Descarta a entrada usada há mais tempo.
+	 */
+	LRU,
+
+	/**
+	 * Mantém as entradas mais frequentes: novas entradas passam por uma pequena
+	 * janela LRU e só entram na área principal se forem mais frequentes que a
+	 * entrada que seria descartada (W-TinyLFU).
+	 */
+	TINY_LFU;
+
+	/**
+	 * Converte o nome configurado em uma política.
+	 *
+	 * @param nome   - nome da política (sem diferenciar maiúsculas)
+	 * @param padrao - política usada para nomes vazios ou inválidos
+	 * @return política correspondente
+	 */
+	public static PoliticaCache porNome(String nome, PoliticaCache padrao) {
+		if (nome == null || nome.trim().isEmpty()) {
+			return padrao;
+		}
+		try {
+			return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			System.out.printf("Chatbot: Política de cache inválida '%s', usando %s%n", nome, padrao);
+			return padrao;
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package entities;
+
+import java.util.Locale;
+
+/**
+ * Política de durabilidade das gravações do conhecimento.
+ *
+ * Define quando os dados gravados são forçados ao disco (fsync), trocando
+ * latência de escrita por garantia de persistência em caso de queda.
+ */
+public enum PoliticaDurabilidade {
+	/**
+	 * Força o disco a cada gravação. Nenhuma alteração confirmada é perdida.
+	 */
+	SEMPRE,
+
+	/**
+	 * Força o disco periodicamente, agrupando as gravações do intervalo. Uma
+	 * queda pode perder apenas as alterações do último intervalo.
+	 */
+	EM_GRUPO,
+
+	/**
+	 * Nunca força o disco, deixando a gravação a cargo do sistema operacional.
+	 */
+	NUNCA;
+
+	/**
+	 * Converte o nome configurado em uma política.
+	 *
+	 * @param nome   - nome da política (sem diferenciar maiúsculas)
+	 * @param padrao - política usada para nomes vazios ou inválidos
+	 * @return política correspondente
+	 */
+	public static PoliticaDurabilidade porNome(String nome, PoliticaDurabilidade padrao) {
+		if (nome == null || nome.trim().isEmpty()) {
+			return padrao;
+		}
+		try {
+			return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			System.out.printf("Chatbot: Política de durabilidade inválida '%s', usando %s%n", nome, padrao);
+			return padrao;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package entities;
+
+/**
+ * Pontuação BM25.
+ *
+ * Variante do TF-IDF que normaliza o peso pelo tamanho da palavra-chave em
+ * relação à média do conhecimento. Como cada termo conta uma única vez por
+ * palavra-chave, a frequência do termo é sempre 1.
+ */
+public class PontuacaoBM25 implements MotorPontuacao {
+	private final float k1;
+	private final float b;
+
+	/**
+	 * Construtor com os parâmetros usuais (k1 = 1.2, b = 0.75).
+	 */
+	public PontuacaoBM25() {
+		this(1.2f, 0.75f);
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param k1 - saturação da frequência do termo
+	 * @param b  - intensidade da normalização pelo tamanho
+	 */
+	public PontuacaoBM25(float k1, float b) {
+		this.k1 = k1;
+		this.b = b;
+	}
+
+	@Override
+	public float idf(int frequenciaDocumento, int totalEntradas) {
+		return (float) Math.log(1.0 + (totalEntradas - frequenciaDocumento + 0.5) / (frequenciaDocumento + 0.5));
+	}
+
+	@Override
+	public float pontuar(float idf, int tamanhoEntrada, float tamanhoMedio) {
+		float normalizacao = 1f - b + b * (tamanhoMedio > 0 ? tamanhoEntrada / tamanhoMedio : 1f);
+		return idf * (k1 + 1f) / (1f + k1 * normalizacao);
+	}
+}
@@ -0,0 +1,25 @@
+package entities;
+
+/**
+ * Pontuação por cobertura simples.
+ *
+ * Cada termo encontrado vale 1 ponto, independente da raridade. Equivale ao
+ * sistema de pontuação original do chatbot.
+ */
+public class PontuacaoCobertura implements MotorPontuacao {
+
+	@Override
+	public float idf(int frequenciaDocumento, int totalEntradas) {
+		return 1f;
+	}
+
+	@Override
+	public float pontuar(float idf, int tamanhoEntrada, float tamanhoMedio) {
+		return 1f;
+	}
+
+	@Override
+	public boolean isGlobal() {
+		return false;
+	}
+}
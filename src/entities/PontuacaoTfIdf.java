@@ -0,0 +1,20 @@
+package entities;
+
+/**
+ * Pontuação TF-IDF.
+ *
+ * Termos raros valem mais que termos comuns. O peso é dividido pela raiz do
+ * tamanho da palavra-chave, favorecendo palavras-chave mais específicas.
+ */
+public class PontuacaoTfIdf implements MotorPontuacao {
+
+	@Override
+	public float idf(int frequenciaDocumento, int totalEntradas) {
+		return (float) (Math.log((double) totalEntradas / frequenciaDocumento) + 1.0);
+	}
+
+	@Override
+	public float pontuar(float idf, int tamanhoEntrada, float tamanhoMedio) {
+		return idf / (float) Math.sqrt(tamanhoEntrada);
+	}
+}
@@ -0,0 +1,123 @@
+package entities;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Resposta de um arquivo de mensagens em lote.
+ *
+ * Lê uma mensagem por linha e escreve uma resposta por linha, na mesma ordem.
+ * As mensagens são lidas em blocos e cada bloco é respondido em paralelo
+ * (normalização, tokenização e pontuação) usando todos os núcleos, sem manter
+ * o arquivo inteiro em memória.
+ *
+ * O sorteio das respostas de cada linha usa uma semente derivada da semente do
+ * lote e do número da linha, de modo que o resultado é o mesmo para qualquer
+ * quantidade de threads e pode ser reproduzido. Os comandos especiais não são
+ * executados: cada linha é respondida como uma mensagem comum.
+ */
+public class ProcessadorLote {
+	// Linhas respondidas em paralelo antes de cada escrita
+	private static final int TAMANHO_BLOCO = 64 * 1024;
+
+	private final MotorChatbot motor;
+	private final MessageManager messageManager;
+	private final long semente;
+	private final String nomeUsuario = System.getProperty("chatbot.lote.nome", "usuário");
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param motor   - motor com o conhecimento
+	 * @param semente - semente do sorteio das respostas
+	 */
+	public ProcessadorLote(MotorChatbot motor, long semente) {
+		this.motor = motor;
+		this.messageManager = motor.getMessageManager();
+		this.semente = semente;
+	}
+
+	/**
+	 * Responde as mensagens do arquivo de entrada no arquivo de saída.
+	 *
+	 * @param entrada - arquivo com uma mensagem por linha (UTF-8)
+	 * @param saida   - arquivo que receberá uma resposta por linha (UTF-8)
+	 * @return quantidade de mensagens respondidas
+	 * @throws IOException - Erro na leitura ou escrita
+	 */
+	public long processar(File entrada, File saida) throws IOException {
+		long linhas = 0;
+		try (BufferedReader leitor = new BufferedReader(
+				new InputStreamReader(new FileInputStream(entrada), StandardCharsets.UTF_8), 64 * 1024);
+				Writer escritor = new BufferedWriter(
+						new OutputStreamWriter(new FileOutputStream(saida), StandardCharsets.UTF_8), 64 * 1024)) {
+			List<String> bloco = new ArrayList<>(TAMANHO_BLOCO);
+			String linha;
+			while ((linha = leitor.readLine()) != null) {
+				bloco.add(linha);
+				if (bloco.size() == TAMANHO_BLOCO) {
+					linhas += responderBloco(bloco, linhas, escritor);
+				}
+			}
+			linhas += responderBloco(bloco, linhas, escritor);
+		}
+		return linhas;
+	}
+
+	/**
+	 * Responde um bloco em paralelo e escreve as respostas em ordem.
+	 *
+	 * @param bloco    - mensagens do bloco, esvaziado ao final
+	 * @param primeira - número (a partir de 0) da primeira linha do bloco
+	 * @return quantidade de mensagens do bloco
+	 */
+	private int responderBloco(List<String> bloco, long primeira, Writer escritor) throws IOException {
+		String[] respostas = new String[bloco.size()];
+		IntStream.range(0, respostas.length).parallel()
+				.forEach(i -> respostas[i] = responder(bloco.get(i), primeira + i));
+
+		for (String resposta : respostas) {
+			escritor.write(resposta);
+			escritor.write('\n');
+		}
+		int quantidade = bloco.size();
+		bloco.clear();
+		return quantidade;
+	}
+
+	/**
+	 * Responde uma mensagem com o sorteio determinado pela linha.
+	 *
+	 * @param mensagem - mensagem original
+	 * @param linha    - número da linha (a partir de 0)
+	 * @return resposta gerada
+	 */
+	public String responder(String mensagem, long linha) {
+		long inicio = MetricasChat.inicio();
+		String msg = messageManager.tratarMensagem(mensagem.trim());
+		motor.getMetricas().registrarNormalizacao(inicio);
+		return motor.gerarResposta(msg, nomeUsuario, new SelecaoSemeada(sementeLinha(semente, linha)));
+	}
+
+	/**
+	 * Semente de uma linha: mistura a semente do lote com o número da linha
+	 * (SplitMix64), para que linhas vizinhas tenham sorteios independentes.
+	 */
+	static long sementeLinha(long semente, long linha) {
+		long z = semente + (linha + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
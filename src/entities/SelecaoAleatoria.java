@@ -0,0 +1,18 @@
+package entities;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Escolha aleatória sem estado compartilhado.
+ *
+ * Usa o gerador próprio de cada thread ({@link ThreadLocalRandom}), por isso a
+ * mesma instância pode ser usada por várias threads sem disputa.
+ */
+public class SelecaoAleatoria implements EstrategiaSelecao {
+	public static final SelecaoAleatoria INSTANCIA = new SelecaoAleatoria();
+
+	@Override
+	public int sortear(int quantidade) {
+		return ThreadLocalRandom.current().nextInt(quantidade);
+	}
+}
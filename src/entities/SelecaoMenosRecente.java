@@ -0,0 +1,54 @@
+package entities;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escolha da resposta usada há mais tempo.
+ *
+ * Para cada palavra-chave, responde primeiro com as respostas ainda não usadas
+ * e depois com a usada há mais tempo, evitando repetições mesmo quando a lista
+ * de respostas muda. As demais escolhas seguem a estratégia base. Mantida por
+ * sessão e usada por uma thread de cada vez.
+ */
+public class SelecaoMenosRecente implements EstrategiaSelecao {
+	private final EstrategiaSelecao base;
+	private final Map<String, Map<String, Long>> ultimoUso = new HashMap<>();
+	private long relogio = 0;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param base - estratégia das escolhas fora das respostas de palavras-chave
+	 */
+	public SelecaoMenosRecente(EstrategiaSelecao base) {
+		this.base = base;
+	}
+
+	@Override
+	public int sortear(int quantidade) {
+		return base.sortear(quantidade);
+	}
+
+	@Override
+	public String escolherResposta(String palavraChave, List<String> respostas) {
+		Map<String, Long> usos = ultimoUso.computeIfAbsent(palavraChave, k -> new HashMap<>());
+		String escolhida = null;
+		long menorUso = Long.MAX_VALUE;
+		for (String resposta : respostas) {
+			long uso = usos.getOrDefault(resposta, 0L); // 0: nunca usada
+			if (uso < menorUso) {
+				menorUso = uso;
+				escolhida = resposta;
+			}
+		}
+
+		// Descarta respostas que não existem mais
+		if (usos.size() > respostas.size()) {
+			usos.keySet().retainAll(respostas);
+		}
+		usos.put(escolhida, ++relogio);
+		return escolhida;
+	}
+}
@@ -0,0 +1,38 @@
+package entities;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rodízio das respostas de cada palavra-chave.
+ *
+ * Cada palavra-chave responde com a próxima resposta da lista, voltando à
+ * primeira depois da última. As demais escolhas seguem a estratégia base. O
+ * rodízio é mantido por sessão e deve ser usado por uma thread de cada vez.
+ */
+public class SelecaoRodizio implements EstrategiaSelecao {
+	private final EstrategiaSelecao base;
+	private final Map<String, Integer> proxima = new HashMap<>();
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param base - estratégia das escolhas fora das respostas de palavras-chave
+	 */
+	public SelecaoRodizio(EstrategiaSelecao base) {
+		this.base = base;
+	}
+
+	@Override
+	public int sortear(int quantidade) {
+		return base.sortear(quantidade);
+	}
+
+	@Override
+	public String escolherResposta(String palavraChave, List<String> respostas) {
+		int posicao = proxima.getOrDefault(palavraChave, 0) % respostas.size();
+		proxima.put(palavraChave, posicao + 1);
+		return respostas.get(posicao);
+	}
+}
@@ -0,0 +1,27 @@
+package entities;
+
+import java.util.SplittableRandom;
+
+/**
+ * Escolha aleatória reproduzível.
+ *
+ * A mesma semente produz sempre a mesma sequência de escolhas, o que permite
+ * repetir uma conversa em testes. Deve ser usada por uma thread de cada vez.
+ */
+public class SelecaoSemeada implements EstrategiaSelecao {
+	private final SplittableRandom gerador;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param semente - semente do gerador
+	 */
+	public SelecaoSemeada(long semente) {
+		gerador = new SplittableRandom(semente);
+	}
+
+	@Override
+	public int sortear(int quantidade) {
+		return gerador.nextInt(quantidade);
+	}
+}
@@ -0,0 +1,280 @@
+package entities;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor de conversas por conexão TCP.
+ *
+ * Cada conexão é uma {@link SessaoChat} conduzida linha a linha (texto UTF-8),
+ * da mesma forma que no console, e todas compartilham um único
+ * {@link MotorChatbot}. Cada conversa roda em uma thread virtual quando a JVM
+ * oferece (Java 21 ou superior), o que permite manter dezenas de milhares de
+ * sessões ociosas; em versões anteriores usa um conjunto limitado de threads.
+ *
+ * Limites:
+ * <ul>
+ * <li>quantidade máxima de sessões simultâneas; novas conexões esperam uma
+ * vaga por um curto período e então são recusadas</li>
+ * <li>tempo máximo de inatividade de uma sessão</li>
+ * <li>tamanho máximo de uma linha</li>
+ * </ul>
+ * A sessão só lê a próxima linha depois de escrever a resposta da anterior, de
+ * modo que um cliente que não lê as respostas fica bloqueado pelo próprio TCP
+ * sem acumular trabalho no servidor.
+ *
+ * Teste local: {@code nc 127.0.0.1 5050}
+ */
+public class ServidorChat implements Closeable {
+	public static final int PORTA_PADRAO = 5050;
+	// Limite de threads quando não há threads virtuais
+	private static final int THREADS_PLATAFORMA = Integer.getInteger("chatbot.servidor.threads", 200);
+
+	private final MotorChatbot motor;
+	private final int porta;
+	private final String endereco = System.getProperty("chatbot.servidor.endereco", "127.0.0.1");
+	private final int inatividadeMs = Integer.getInteger("chatbot.servidor.inatividade", 5 * 60 * 1000);
+	private final long esperaVagaMs = Long.getLong("chatbot.servidor.espera", 1000);
+	private final int tamanhoLinha = Integer.getInteger("chatbot.servidor.linha", 8 * 1024);
+
+	private final int maximoSessoes;
+	private final Semaphore vagas;
+	private final AtomicInteger sessoesAtivas = new AtomicInteger();
+	private final ExecutorService executor;
+	private final boolean threadsVirtuais;
+	private volatile ServerSocket servidor;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param motor - motor compartilhado pelas sessões
+	 * @param porta - porta local de escuta (0 escolhe uma porta livre)
+	 */
+	public ServidorChat(MotorChatbot motor, int porta) {
+		this.motor = motor;
+		this.porta = porta;
+
+		ExecutorService virtual = criarExecutorVirtual();
+		threadsVirtuais = virtual != null;
+		int limite = Integer.getInteger("chatbot.servidor.sessoes", 10_000);
+		if (threadsVirtuais) {
+			executor = virtual;
+			maximoSessoes = limite;
+		} else {
+			// Uma thread de plataforma por sessão: limita as sessões às threads
+			maximoSessoes = Math.min(limite, THREADS_PLATAFORMA);
+			ThreadPoolExecutor plataforma = new ThreadPoolExecutor(maximoSessoes, maximoSessoes, 60,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<>(), tarefa -> {
+						Thread thread = new Thread(tarefa, "chatbot-sessao");
+						thread.setDaemon(true);
+						return thread;
+					});
+			plataforma.allowCoreThreadTimeOut(true);
+			executor = plataforma;
+		}
+		vagas = new Semaphore(maximoSessoes);
+	}
+
+	/**
+	 * Aceita conexões até o servidor ser fechado.
+	 *
+	 * @throws IOException - Erro ao abrir a porta
+	 */
+	public void executar() throws IOException {
+		servidor = new ServerSocket();
+		servidor.setReuseAddress(true);
+		servidor.bind(new InetSocketAddress(InetAddress.getByName(endereco), porta));
+		System.out.printf("Chatbot: Servidor em %s:%d (até %d sessões, threads %s)%n", endereco,
+				servidor.getLocalPort(), maximoSessoes, threadsVirtuais ? "virtuais" : "de plataforma");
+
+		while (!servidor.isClosed()) {
+			Socket conexao;
+			try {
+				conexao = servidor.accept();
+			} catch (SocketException e) {
+				break; // Servidor fechado
+			}
+			aceitar(conexao);
+		}
+	}
+
+	/**
+	 * Porta em que o servidor está escutando.
+	 *
+	 * @return porta local, ou -1 antes de {@link #executar()}
+	 */
+	public int getPorta() {
+		ServerSocket atual = servidor;
+		return atual != null ? atual.getLocalPort() : -1;
+	}
+
+	/**
+	 * Quantidade de sessões conectadas.
+	 *
+	 * @return sessões ativas
+	 */
+	public int getSessoesAtivas() {
+		return sessoesAtivas.get();
+	}
+
+	/**
+	 * Para de aceitar conexões e encerra as sessões.
+	 */
+	@Override
+	public void close() throws IOException {
+		ServerSocket atual = servidor;
+		if (atual != null) {
+			atual.close();
+		}
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Reserva uma vaga para a conexão e inicia a sessão.
+	 */
+	private void aceitar(Socket conexao) {
+		try {
+			if (!vagas.tryAcquire(esperaVagaMs, TimeUnit.MILLISECONDS)) {
+				recusar(conexao, "Chatbot: Servidor cheio, tente novamente mais tarde!");
+				return;
+			}
+			executor.execute(() -> {
+				try {
+					conversar(conexao);
+				} finally {
+					vagas.release();
+				}
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			fecharConexao(conexao);
+		} catch (RejectedExecutionException e) {
+			// Servidor sendo encerrado
+			vagas.release();
+			fecharConexao(conexao);
+		}
+	}
+
+	/**
+	 * Conduz a conversa de uma conexão até o usuário sair, desconectar ou ficar
+	 * inativo.
+	 */
+	private void conversar(Socket conexao) {
+		sessoesAtivas.incrementAndGet();
+		try (Socket socket = conexao) {
+			socket.setSoTimeout(inatividadeMs);
+			socket.setTcpNoDelay(true);
+			BufferedReader entrada = new BufferedReader(
+					new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			PrintWriter saida = new PrintWriter(
+					new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+
+			SessaoChat sessao = new SessaoChat(motor, saida);
+			sessao.iniciar();
+			try {
+				String linha;
+				while (sessao.isExecutando() && (linha = lerLinha(entrada)) != null) {
+					sessao.processar(linha);
+				}
+			} catch (SocketTimeoutException e) {
+				saida.println();
+				saida.println("Chatbot: Sessão encerrada por inatividade.");
+				saida.flush();
+			} catch (LinhaLongaException e) {
+				saida.println();
+				saida.printf("Chatbot: Mensagem muito longa (máximo de %d caracteres).%n", tamanhoLinha);
+				saida.flush();
+			}
+		} catch (IOException e) {
+			// Conexão perdida: a sessão é descartada
+		} finally {
+			sessoesAtivas.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Lê uma linha sem ultrapassar o tamanho máximo.
+	 *
+	 * @return linha sem a quebra, ou null no fim da conexão
+	 */
+	private String lerLinha(BufferedReader entrada) throws IOException {
+		StringBuilder linha = new StringBuilder();
+		while (true) {
+			int c = entrada.read();
+			if (c == -1) {
+				return linha.length() > 0 ? linha.toString() : null;
+			}
+			if (c == '\n') {
+				// Aceita quebras de linha no formato \r\n
+				int tamanho = linha.length();
+				if (tamanho > 0 && linha.charAt(tamanho - 1) == '\r') {
+					linha.setLength(tamanho - 1);
+				}
+				return linha.toString();
+			}
+			if (linha.length() == tamanhoLinha) {
+				throw new LinhaLongaException();
+			}
+			linha.append((char) c);
+		}
+	}
+
+	/**
+	 * Linha acima do tamanho máximo.
+	 */
+	private static class LinhaLongaException extends IOException {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private void recusar(Socket conexao, String motivo) {
+		try (Socket socket = conexao) {
+			socket.getOutputStream().write((motivo + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			// Cliente já desconectado
+		}
+	}
+
+	private void fecharConexao(Socket conexao) {
+		try {
+			conexao.close();
+		} catch (IOException e) {
+			// Nada a fazer
+		}
+	}
+
+	/**
+	 * Executor com uma thread virtual por tarefa, obtido por reflexão para manter
+	 * a compatibilidade com versões anteriores ao Java 21.
+	 *
+	 * @return executor ou null quando a JVM não oferece threads virtuais
+	 */
+	static ExecutorService criarExecutorVirtual() {
+		try {
+			Method metodo = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) metodo.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+}
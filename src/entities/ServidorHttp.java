@@ -0,0 +1,412 @@
+package entities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * API HTTP com JSON para integrações.
+ *
+ * Usa o servidor HTTP embutido no JDK, com conexões persistentes (keep-alive)
+ * e uma thread virtual por requisição quando a JVM oferece. Todas as
+ * requisições compartilham um único {@link MotorChatbot}; cada requisição é
+ * independente, sem sessão.
+ *
+ * Rotas (todas POST, corpo e resposta em JSON UTF-8):
+ *
+ * <pre>
+ * /mensagem   {"mensagem": "...", "nome": "..."}        -&gt; {"resposta": "..."}
+ * /mensagens  {"mensagens": ["...", ...], "nome": "..."} -&gt; {"respostas": ["...", ...]}
+ * /ensinar    {"palavraChave": "...", "resposta": "..."} -&gt; {"palavrasChave": ["...", ...]}
+ * /editar     {"palavraChave": "...", "indice": 1, "respostaNova": "..."} -&gt; {"editado": true}
+ * /remover    {"palavraChave": "...", "indice": 1}       -&gt; {"removido": true}
+ * /listar     {"prefixo": "...", "cursor": "...", "tamanho": 20} -&gt; {"palavrasChave": ["...", ...], "cursor": "..."}
+ * </pre>
+ *
+ * Em /editar e /remover a resposta pode ser indicada pelo número ("indice",
+ * a partir de 1, como no console) ou pelo texto ("resposta"). Em /remover, sem
+ * resposta indicada, a palavra-chave inteira é removida. Em /listar as
+ * palavras-chave vêm em ordem alfabética; o cursor devolvido (null na última
+ * página) pede a página seguinte.
+ */
+public class ServidorHttp implements Closeable {
+	public static final int PORTA_PADRAO = 8080;
+	// Tamanho máximo do corpo de uma requisição
+	private static final int TAMANHO_MAXIMO = Integer.getInteger("chatbot.http.tamanho", 1024 * 1024);
+	// Tamanho padrão e máximo de uma página de /listar
+	private static final int PAGINA_PADRAO = 20;
+	private static final int PAGINA_MAXIMA = 1000;
+
+	static {
+		// O servidor do JDK grava cabeçalhos e corpo separadamente; com o atraso
+		// de Nagle, cada resposta esperaria o ACK atrasado do cliente (~40 ms)
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private final MotorChatbot motor;
+	private final MessageManager messageManager;
+	private final HttpServer servidor;
+	private final ExecutorService executor;
+
+	/**
+	 * Requisição inválida, respondida com o código e a mensagem informados.
+	 */
+	private static class ErroRequisicao extends Exception {
+		private static final long serialVersionUID = 1L;
+		final int codigo;
+
+		ErroRequisicao(int codigo, String mensagem) {
+			super(mensagem);
+			this.codigo = codigo;
+		}
+	}
+
+	/**
+	 * Tratamento de uma rota: recebe o corpo lido e escreve o JSON de resposta.
+	 */
+	private interface Rota {
+		void tratar(Corpo corpo, Writer resposta) throws IOException, ErroRequisicao;
+	}
+
+	/**
+	 * Campos do corpo JSON de uma requisição.
+	 */
+	private static class Corpo {
+		String mensagem;
+		List<String> mensagens;
+		String nome;
+		String palavraChave;
+		String resposta;
+		String respostaNova;
+		int indice = -1;
+		String prefixo;
+		String cursor;
+		int tamanho = PAGINA_PADRAO;
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param motor - motor compartilhado pelas requisições
+	 * @param porta - porta local de escuta (0 escolhe uma porta livre)
+	 * @throws IOException - Erro ao abrir a porta
+	 */
+	public ServidorHttp(MotorChatbot motor, int porta) throws IOException {
+		this.motor = motor;
+		this.messageManager = motor.getMessageManager();
+
+		String endereco = System.getProperty("chatbot.http.endereco", "127.0.0.1");
+		servidor = HttpServer.create(new InetSocketAddress(InetAddress.getByName(endereco), porta),
+				Integer.getInteger("chatbot.http.fila", 1024));
+
+		ExecutorService virtual = ServidorChat.criarExecutorVirtual();
+		executor = virtual != null ? virtual
+				: Executors.newFixedThreadPool(Integer.getInteger("chatbot.http.threads",
+						Runtime.getRuntime().availableProcessors() * 4));
+		servidor.setExecutor(executor);
+
+		registrar("/mensagem", this::responderMensagem);
+		registrar("/mensagens", this::responderMensagens);
+		registrar("/ensinar", this::ensinar);
+		registrar("/editar", this::editar);
+		registrar("/remover", this::remover);
+		registrar("/listar", this::listar);
+	}
+
+	/**
+	 * Inicia o atendimento das requisições em segundo plano.
+	 */
+	public void iniciar() {
+		servidor.start();
+		System.out.printf("Chatbot: API HTTP em %s:%d%n", servidor.getAddress().getHostString(), getPorta());
+	}
+
+	/**
+	 * Porta em que o servidor está escutando.
+	 *
+	 * @return porta local
+	 */
+	public int getPorta() {
+		return servidor.getAddress().getPort();
+	}
+
+	/**
+	 * Para o servidor, aguardando até um segundo pelas requisições em andamento.
+	 */
+	@Override
+	public void close() {
+		servidor.stop(1);
+		executor.shutdown();
+	}
+
+	private void responderMensagem(Corpo corpo, Writer resposta) throws IOException, ErroRequisicao {
+		exigir(corpo.mensagem, "mensagem");
+		resposta.write("{\"resposta\":");
+		FileManager.escreverString(gerarResposta(corpo.mensagem, corpo.nome), resposta);
+		resposta.write("}");
+	}
+
+	/**
+	 * Responde várias mensagens em uma única requisição, na mesma ordem.
+	 */
+	private void responderMensagens(Corpo corpo, Writer resposta) throws IOException, ErroRequisicao {
+		if (corpo.mensagens == null) {
+			throw new ErroRequisicao(400, "Campo obrigatório: mensagens");
+		}
+		resposta.write("{\"respostas\":[");
+		for (int i = 0; i < corpo.mensagens.size(); i++) {
+			if (i > 0) {
+				resposta.write(",");
+			}
+			FileManager.escreverString(gerarResposta(corpo.mensagens.get(i), corpo.nome), resposta);
+		}
+		resposta.write("]}");
+	}
+
+	private String gerarResposta(String mensagem, String nome) {
+		long inicio = MetricasChat.inicio();
+		String msg = messageManager.tratarMensagem(mensagem.trim());
+		motor.getMetricas().registrarNormalizacao(inicio);
+		return motor.gerarResposta(msg, nome != null ? nome : "", SelecaoAleatoria.INSTANCIA);
+	}
+
+	private void ensinar(Corpo corpo, Writer resposta) throws IOException, ErroRequisicao {
+		exigir(corpo.palavraChave, "palavraChave");
+		exigir(corpo.resposta, "resposta");
+		String palavraChave = messageManager.tratarMensagem(corpo.palavraChave.toLowerCase().trim());
+		String respostaConhecimento = messageManager.tratarMensagem(corpo.resposta);
+
+		// Mesmas validações do console
+		StringWriter motivo = new StringWriter();
+		if (messageManager.validarPalavra(palavraChave, new PrintWriter(motivo, true))) {
+			throw new ErroRequisicao(400, motivo.toString().trim());
+		}
+		if (respostaConhecimento.isEmpty()) {
+			throw new ErroRequisicao(400, "Não posso aceitar conhecimento vazio!");
+		}
+
+		List<String> alteradas = motor.ensinar(palavraChave, respostaConhecimento);
+		if (alteradas.isEmpty()) {
+			verificarAtivo();
+		}
+		resposta.write("{\"palavrasChave\":[");
+		for (int i = 0; i < alteradas.size(); i++) {
+			if (i > 0) {
+				resposta.write(",");
+			}
+			FileManager.escreverString(alteradas.get(i), resposta);
+		}
+		resposta.write("]}");
+	}
+
+	private void editar(Corpo corpo, Writer resposta) throws IOException, ErroRequisicao {
+		exigir(corpo.palavraChave, "palavraChave");
+		exigir(corpo.respostaNova, "respostaNova");
+		// Mesma forma guardada por ensinar: "tempo de hoje" é "tempo hoje"
+		String palavraChave = motor.chave(messageManager.tratarMensagem(corpo.palavraChave));
+		String antiga = obterResposta(palavraChave, corpo);
+		if (antiga == null) {
+			throw new ErroRequisicao(400, "Informe a resposta pelo campo indice ou resposta");
+		}
+		boolean editado = motor.editar(palavraChave, antiga,
+				messageManager.tratarMensagem(corpo.respostaNova));
+		if (!editado) {
+			verificarAtivo();
+		}
+		resposta.write("{\"editado\":" + editado + "}");
+	}
+
+	private void remover(Corpo corpo, Writer resposta) throws IOException, ErroRequisicao {
+		exigir(corpo.palavraChave, "palavraChave");
+		String palavraChave = motor.chave(messageManager.tratarMensagem(corpo.palavraChave));
+		String respostaRemovida = obterResposta(palavraChave, corpo);
+		boolean removido = respostaRemovida != null ? motor.removerResposta(palavraChave, respostaRemovida)
+				: motor.removerPalavraChave(palavraChave);
+		if (!removido) {
+			verificarAtivo();
+		}
+		resposta.write("{\"removido\":" + removido + "}");
+	}
+
+	private void listar(Corpo corpo, Writer resposta) throws IOException, ErroRequisicao {
+		if (corpo.tamanho < 1 || corpo.tamanho > PAGINA_MAXIMA) {
+			throw new ErroRequisicao(400, "Tamanho de página entre 1 e " + PAGINA_MAXIMA);
+		}
+		String prefixo = corpo.prefixo != null
+				? motor.prefixoChave(messageManager.tratarMensagem(corpo.prefixo.toLowerCase()))
+				: "";
+		PaginaConhecimento pagina = motor.listar(prefixo, corpo.cursor, corpo.tamanho);
+		resposta.write("{\"palavrasChave\":[");
+		List<String> palavrasChave = pagina.getPalavrasChave();
+		for (int i = 0; i < palavrasChave.size(); i++) {
+			if (i > 0) {
+				resposta.write(",");
+			}
+			FileManager.escreverString(palavrasChave.get(i), resposta);
+		}
+		resposta.write("],\"cursor\":");
+		if (pagina.getCursor() != null) {
+			FileManager.escreverString(pagina.getCursor(), resposta);
+		} else {
+			resposta.write("null");
+		}
+		resposta.write("}");
+	}
+
+	/**
+	 * Resposta indicada pelo número ou pelo texto.
+	 *
+	 * @return resposta ou null quando nenhuma foi indicada
+	 */
+	private String obterResposta(String palavraChave, Corpo corpo) throws ErroRequisicao {
+		if (corpo.indice >= 0) {
+			List<String> respostas = motor.respostas(palavraChave);
+			if (respostas == null) {
+				throw new ErroRequisicao(404, "palavra-chave não encontrada");
+			}
+			if (corpo.indice < 1 || corpo.indice > respostas.size()) {
+				throw new ErroRequisicao(404, "Resposta não encontrada!");
+			}
+			return respostas.get(corpo.indice - 1);
+		}
+		return corpo.resposta != null ? messageManager.tratarMensagem(corpo.resposta) : null;
+	}
+
+	/**
+	 * Alteração recusada porque o motor está sendo desligado.
+	 */
+	private void verificarAtivo() throws ErroRequisicao {
+		if (motor.isEncerrado()) {
+			throw new ErroRequisicao(503, "Chatbot encerrando, a alteração não foi gravada");
+		}
+	}
+
+	private static void exigir(Object valor, String campo) throws ErroRequisicao {
+		if (valor == null) {
+			throw new ErroRequisicao(400, "Campo obrigatório: " + campo);
+		}
+	}
+
+	private void registrar(String caminho, Rota rota) {
+		servidor.createContext(caminho, troca -> atender(troca, rota));
+	}
+
+	/**
+	 * Lê o corpo, executa a rota e envia a resposta com tamanho definido, para
+	 * que a conexão possa ser reaproveitada. Corpos não lidos até o fim são
+	 * descartados pelo próprio servidor ao fechar a troca.
+	 */
+	private void atender(HttpExchange troca, Rota rota) throws IOException {
+		StringWriter resposta = new StringWriter();
+		int codigo = 200;
+		try {
+			if (!troca.getRequestMethod().equals("POST")) {
+				troca.getResponseHeaders().set("Allow", "POST");
+				throw new ErroRequisicao(405, "Use POST");
+			}
+			rota.tratar(lerCorpo(troca.getRequestBody()), resposta);
+		} catch (ErroRequisicao e) {
+			codigo = e.codigo;
+			resposta = new StringWriter();
+			resposta.write("{\"erro\":");
+			FileManager.escreverString(e.getMessage(), resposta);
+			resposta.write("}");
+		}
+
+		byte[] bytes = resposta.toString().getBytes(StandardCharsets.UTF_8);
+		troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		troca.sendResponseHeaders(codigo, bytes.length);
+		try (OutputStream saida = troca.getResponseBody()) {
+			saida.write(bytes);
+		}
+	}
+
+	/**
+	 * Lê os campos conhecidos do corpo JSON, ignorando os demais.
+	 */
+	private Corpo lerCorpo(InputStream entrada) throws IOException, ErroRequisicao {
+		byte[] bytes = lerLimitado(entrada);
+		Corpo corpo = new Corpo();
+		try (LeitorJson leitor = new LeitorJson(
+				new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8),
+				Math.max(64, bytes.length))) {
+			leitor.iniciarObjeto();
+			while (leitor.temProximo()) {
+				String campo = leitor.lerNome();
+				switch (campo) {
+				case "mensagem":
+					corpo.mensagem = leitor.lerString();
+					break;
+				case "nome":
+					corpo.nome = leitor.lerString();
+					break;
+				case "palavraChave":
+					corpo.palavraChave = leitor.lerString();
+					break;
+				case "resposta":
+					corpo.resposta = leitor.lerString();
+					break;
+				case "respostaNova":
+					corpo.respostaNova = leitor.lerString();
+					break;
+				case "indice":
+					corpo.indice = (int) Math.max(0, Math.min(Integer.MAX_VALUE, leitor.lerInteiro()));
+					break;
+				case "prefixo":
+					corpo.prefixo = leitor.lerString();
+					break;
+				case "cursor":
+					corpo.cursor = leitor.lerString();
+					break;
+				case "tamanho":
+					corpo.tamanho = (int) Math.max(0, Math.min(Integer.MAX_VALUE, leitor.lerInteiro()));
+					break;
+				case "mensagens":
+					corpo.mensagens = new ArrayList<>();
+					leitor.iniciarLista();
+					while (leitor.temProximo()) {
+						corpo.mensagens.add(leitor.lerString());
+					}
+					break;
+				default:
+					leitor.pularValor();
+				}
+			}
+		} catch (IOException e) {
+			throw new ErroRequisicao(400, e.getMessage());
+		}
+		return corpo;
+	}
+
+	private static byte[] lerLimitado(InputStream entrada) throws IOException, ErroRequisicao {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] bloco = new byte[8192];
+		int lidos;
+		while ((lidos = entrada.read(bloco)) > 0) {
+			if (bytes.size() + lidos > TAMANHO_MAXIMO) {
+				throw new ErroRequisicao(413, "Corpo maior que " + TAMANHO_MAXIMO + " bytes");
+			}
+			bytes.write(bloco, 0, lidos);
+		}
+		return bytes.toByteArray();
+	}
+}
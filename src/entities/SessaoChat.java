@@ -0,0 +1,634 @@
+package entities;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Conversa de um usuário com o chatbot.
+ *
+ * Guarda o estado de uma conversa: nome do usuário, se ela continua ativa e o
+ * diálogo em andamento (ensinar, editar ou remover pedem mais de uma linha).
+ * Não lê a entrada por conta própria: cada linha digitada é entregue em
+ * {@link #processar(String)} e as respostas são escritas na saída da sessão.
+ * Assim a mesma conversa pode ser conduzida pelo console ou por uma conexão de
+ * rede, e várias sessões compartilham um único {@link MotorChatbot}.
+ *
+ * Uma sessão deve ser usada por uma thread de cada vez.
+ */
+public class SessaoChat {
+
+	/**
+	 * Próxima linha esperada pela sessão.
+	 */
+	private enum Etapa {
+		NOME, CONVERSA, ENSINAR_CHAVE, ENSINAR_RESPOSTA, EDITAR_CHAVE, EDITAR_NUMERO, EDITAR_RESPOSTA,
+		REMOVER_DECISAO, REMOVER_CHAVE, CONFIRMAR_REMOVER_CHAVE, REMOVER_RESPOSTA_CHAVE, REMOVER_RESPOSTA_NUMERO,
+		CONFIRMAR_REMOVER_ULTIMA, LISTAR_PAGINA
+	}
+
+	// Palavras-chave por página da listagem
+	private static final int TAMANHO_PAGINA = Math.max(1, Integer.getInteger("chatbot.listagem.pagina", 20));
+	// Sugestões quando a palavra-chave digitada não existe
+	private static final int SUGESTOES = 5;
+
+	private final MotorChatbot motor;
+	private final MessageManager messageManager;
+	private final PrintWriter saida;
+	private final EstrategiaSelecao selecao;
+	private String nomeUsuario;
+	private boolean executando = true;
+	private Etapa etapa = Etapa.NOME;
+
+	// Dados do diálogo em andamento
+	private String palavraChave;
+	private String resposta;
+
+	// Listagem em andamento
+	private String prefixoListagem = "";
+	private String cursorListagem;
+	private int numeroListagem;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param motor - motor compartilhado entre as sessões
+	 * @param saida - destino das mensagens da conversa
+	 * @see TipoSelecao#configurada()
+	 */
+	public SessaoChat(MotorChatbot motor, PrintWriter saida) {
+		this(motor, saida, TipoSelecao.configurada());
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param motor   - motor compartilhado entre as sessões
+	 * @param saida   - destino das mensagens da conversa
+	 * @param selecao - estratégia de escolha das respostas desta sessão
+	 */
+	public SessaoChat(MotorChatbot motor, PrintWriter saida, EstrategiaSelecao selecao) {
+		this.motor = motor;
+		this.messageManager = motor.getMessageManager();
+		this.saida = saida;
+		this.selecao = selecao;
+	}
+
+	/**
+	 * Inicialização da conversa.
+	 *
+	 * Solicita o nome do usuário; a próxima linha processada é o nome.
+	 */
+	public void iniciar() {
+		saida.println("=== CHATBOT ===");
+		saida.print("Digite seu nome: ");
+		saida.flush();
+	}
+
+	/**
+	 * Processa uma linha digitada pelo usuário.
+	 *
+	 * A linha é tratada de acordo com a etapa da conversa: nome, mensagem ou
+	 * resposta de um diálogo em andamento.
+	 *
+	 * @param linha - linha digitada, sem a quebra de linha
+	 */
+	public void processar(String linha) {
+		switch (etapa) {
+		case NOME:
+			nomeUsuario = linha;
+			etapa = Etapa.CONVERSA;
+			consoleAjuda(); // Mostra as funcionalidades do bot
+			break;
+		case CONVERSA:
+			String entrada = linha.trim();
+			// Verifica entrada preenchida
+			if (!entrada.isEmpty())
+				processarMensagem(entrada); // Processa a mensagem
+			break;
+		case ENSINAR_CHAVE:
+			palavraChave = messageManager.tratarMensagem(linha.toLowerCase().trim());
+			saida.print("Chatbot: Resposta da palavra-chave: ");
+			etapa = Etapa.ENSINAR_RESPOSTA;
+			break;
+		case ENSINAR_RESPOSTA:
+			etapa = Etapa.CONVERSA;
+			ensinarChat(palavraChave, messageManager.tratarMensagem(linha));
+			break;
+		case EDITAR_CHAVE:
+			etapa = Etapa.CONVERSA;
+			escolherPalavraChave(messageManager.tratarMensagem(linha),
+					"\nChatbot: Qual dessas respostas você deseja alterar? Digite o número: ", Etapa.EDITAR_NUMERO);
+			break;
+		case EDITAR_NUMERO:
+			etapa = Etapa.CONVERSA;
+			escolherRespostaEdicao(linha);
+			break;
+		case EDITAR_RESPOSTA:
+			etapa = Etapa.CONVERSA;
+			editarResposta(messageManager.tratarMensagem(linha));
+			break;
+		case REMOVER_DECISAO:
+			etapa = Etapa.CONVERSA;
+			decidirRemocao(linha);
+			break;
+		case REMOVER_CHAVE:
+			etapa = Etapa.CONVERSA;
+			palavraChave = motor.chave(messageManager.tratarMensagem(linha));
+			// Verifica existência da palavra chave no conhecimento
+			if (motor.respostas(palavraChave) != null) {
+				saida.println("Tem certeza que deseja excluir essa palavra chave? [S]im [N]ão");
+				etapa = Etapa.CONFIRMAR_REMOVER_CHAVE;
+			} else {
+				informarNaoEncontrada(palavraChave);
+			}
+			break;
+		case CONFIRMAR_REMOVER_CHAVE:
+			etapa = Etapa.CONVERSA;
+			confirmarRemocaoPalavraChave(messageManager.tratarMensagem(linha));
+			break;
+		case REMOVER_RESPOSTA_CHAVE:
+			etapa = Etapa.CONVERSA;
+			escolherPalavraChave(messageManager.tratarMensagem(linha), "\nChatbot: Digite o número da resposta: ",
+					Etapa.REMOVER_RESPOSTA_NUMERO);
+			break;
+		case REMOVER_RESPOSTA_NUMERO:
+			etapa = Etapa.CONVERSA;
+			escolherRespostaRemocao(linha);
+			break;
+		case CONFIRMAR_REMOVER_ULTIMA:
+			etapa = Etapa.CONVERSA;
+			confirmarRemocaoUltimaResposta(messageManager.tratarMensagem(linha));
+			break;
+		case LISTAR_PAGINA:
+			etapa = Etapa.CONVERSA;
+			continuarListagem(linha.trim());
+			break;
+		}
+
+		// Aguarda a próxima mensagem
+		if (executando && etapa == Etapa.CONVERSA) {
+			saida.printf("%n%s: ", nomeUsuario);
+		}
+		saida.flush();
+	}
+
+	/**
+	 * Indica se a conversa continua ativa.
+	 *
+	 * @return falso depois do comando de sair
+	 */
+	public boolean isExecutando() {
+		return executando;
+	}
+
+	public String getNomeUsuario() {
+		return nomeUsuario;
+	}
+
+	/**
+	 * Processa e responde mensagens do usuário.
+	 *
+	 * Verifica se a mensagem contém comandos especiais ou gera resposta baseada no
+	 * conhecimento adquirido. Aplica normalização de texto antes do processamento.
+	 *
+	 * @param entrada mensagem digitada pelo usuário
+	 * @see #verificarComandosEspeciais(String)
+	 * @see MotorChatbot#gerarResposta(String, String, EstrategiaSelecao)
+	 */
+	private void processarMensagem(String entrada) {
+		MetricasChat metricas = motor.getMetricas();
+		long inicio = MetricasChat.inicio();
+		String msg = messageManager.tratarMensagem(entrada);
+		metricas.registrarNormalizacao(inicio);
+
+		// Verifica comando especial
+		inicio = MetricasChat.inicio();
+		if (!verificarComandosEspeciais(msg)) {
+			// Mede só a verificação, sem a execução dos comandos
+			metricas.registrarComandos(inicio);
+			// Gera resposta com base no conhecimento do bot
+			saida.printf("%nChatbot: %s", motor.gerarResposta(msg, nomeUsuario, selecao));
+		}
+	}
+
+	/**
+	 * Comandos especiais do bot.
+	 *
+	 * Verifica qual comando o usuário envia ao bot. Executa funcionalidade de
+	 * acordo com o comando enviado.
+	 *
+	 * @param mensagem mensagem digitada pelo usuário
+	 * @return validação de comando especial
+	 */
+	private boolean verificarComandosEspeciais(String mensagem) {
+		// Encontra o comando em uma única passada pela mensagem
+		Comando comando = Comando.especial(mensagem);
+		if (comando == null) {
+			return false;
+		}
+
+		switch (comando) {
+		case SAIR: // Opção de sair do chat com o bot
+			String[] resposta = { String.format("Chatbot: Foi um prazer conversar com você %s, até logo!", nomeUsuario),
+					String.format("Chatbot: Até mais %s!", nomeUsuario), "Chabot: Vejo você depois!" };
+
+			saida.println(resposta[selecao.sortear(resposta.length)]);
+			executando = false; // Parar loop
+			break;
+
+		case ENSINAR: // Ensina o bot
+			// Solicita palavra chave e resposta
+			saida.print("Chatbot: Palavra-Chave (ex: tempo de hoje): ");
+			etapa = Etapa.ENSINAR_CHAVE;
+			break;
+
+		case AJUDA: // Mostra as funcionalidades do bot
+			consoleAjuda();
+			break;
+
+		case LISTAR: // Lista o conhecimento do bot
+			if (!listarConhecimento()) {
+				String[] respostas = { "Meu conhecimento está vazio no momento, poderia me ensinar algo novo?",
+						"Minha memória está vazia, considere me passar um pouco de conhecimento, por favor!",
+						"Estou confuso, posso jurar que eu tinha conhecimento suficiente na minha memória!",
+						"Ainda não sei sobre nada, me ensine!" };
+				saida.printf("Chatbot: %s%n", respostas[selecao.sortear(respostas.length)]);
+			}
+			break;
+
+		case METRICAS: // Mostra as métricas do bot
+			saida.printf("Chatbot: Métricas%n%s%n", motor.getMetricas().relatorio());
+			break;
+
+		case EDITAR: // Edita o conhecimento do bot
+			// Verifica conhecimento do bot; a palavra-chave é buscada diretamente
+			if (motor.tamanho() > 0) {
+				saida.print("\nChatbot: Qual conhecimento você deseja editar? Digite a palavra chave: ");
+				etapa = Etapa.EDITAR_CHAVE;
+			} else {
+				saida.println("Chatbot: Conhecimento vazio!");
+			}
+			break;
+
+		case REMOVER: // Remove o conhecimento do bot
+			// Verifica conhecimento do bot; a palavra-chave é buscada diretamente
+			if (motor.tamanho() > 0) {
+				saida.println("\nChatbot: Você quer:" + "\n1. Remover uma palavra-chave inteira."
+						+ "\n2. Remover apenas uma resposta específica." + "\n0. Sair.");
+				etapa = Etapa.REMOVER_DECISAO;
+			} else {
+				saida.println("Chatbot: Conhecimento vazio!");
+			}
+			break;
+
+		default:
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Mostra as funcionalidades deste bot.
+	 */
+	private void consoleAjuda() {
+		// Informação sobre como o chatbot funciona
+		saida.println("\n=== MENU DE AJUDA ===");
+		String[] funcionalidades = { "- sair/exit: encerra o chatbot", "- ensinar: ensina o chatbot algo novo",
+				"- ajuda/help: mostra o menu de ajuda", "- listar/conhecimento: mostra a lista de conhecimento do bot",
+				"- editar: edita o conhecimento do bot", "- esquecer/remover: remove o conhecimento do bot",
+				"- metricas: mostra as métricas de desempenho do bot" };
+
+		// Imprime as funcionalidades do bot
+		for (String item : funcionalidades) {
+			saida.println(item);
+		}
+
+		saida.println("======");
+		saida.println("\nComo usar este chat?");
+		saida.println("Primeiro você precisa verificar se ele entende do assunto que "
+				+ "você está querendo discutir com ele.");
+		saida.println(
+				"Caso ele diga que não entende, por favor, ensine a ele como conversar" + " sobre este assunto!");
+		saida.println("\nPense que ele acabou de nascer e que o mundo é " + "um mistério para ele :)");
+		saida.println("Acima estão as principais funcionalidades deste chat!");
+		saida.println(
+				"\nNão esqueça de visitar meu Github para novas atualizações:" + " https://github.com/Felipe-Tamura");
+
+	}
+
+	/**
+	 * Adiciona um novo conhecimento na base do bot.
+	 *
+	 * Com o comando 'ensinar', o bot coleta os novos dados que o usuário digita
+	 * para ele.
+	 *
+	 * @param palavraChave         - palavra-chave normalizada
+	 * @param respostaConhecimento - resposta normalizada
+	 * @see MotorChatbot#ensinar(String, String)
+	 */
+	private void ensinarChat(String palavraChave, String respostaConhecimento) {
+		// Verifica dados existentes no input
+		if (messageManager.validarPalavra(palavraChave, saida)) {
+			return;
+		}
+
+		if (respostaConhecimento.isEmpty()) {
+			saida.println("Chatbot: Não posso aceitar conhecimento vazio!");
+			return;
+		}
+
+		// A palavra-chave é guardada inteira, como frase
+		String chave = motor.chave(palavraChave);
+		if (!messageManager.tokenizar(chave).proximo()) {
+			saida.println("Chatbot: Encontrei 0 palavras-chave, tente palavras menos genéricas!");
+			return;
+		}
+		List<String> existentes = motor.respostas(chave);
+		if (existentes == null) {
+			saida.printf("Chatbot: Nova palavra-chave: '%s'%n", chave);
+		} else if (existentes.contains(respostaConhecimento)) {
+			saida.printf("Chatbot: A resposta '%s' já existe na palavra-chave '%s'%n", respostaConhecimento, chave);
+			return;
+		} else {
+			saida.printf("Chatbot: Palavra-chave existente: '%s' (expandindo conhecimento)%n", chave);
+		}
+
+		// Adiciona a resposta se a palavra-chave ainda não a possui
+		if (motor.ensinar(palavraChave, respostaConhecimento).isEmpty()) {
+			informarEncerrado();
+		} else {
+			String[] respostas = { // Lista dinâmica de resposta
+					String.format("Obrigado, agora eu sei um pouco sobre '%s'", palavraChave),
+					String.format("Perfeito! Agora posso conversar sobre '%s' com você", palavraChave),
+					String.format("Eba! Aprendi algo novo sobre '%s', muito obrigado!", palavraChave),
+					String.format("Que legal! Agora '%s' faz parte do meu conhecimento", palavraChave) };
+
+			saida.printf("Chatbot: %s%n", respostas[selecao.sortear(respostas.length)]);
+		}
+	}
+
+	/**
+	 * Mostra ao usuário a primeira página do conhecimento do chat.
+	 *
+	 * @return falso quando o conhecimento está vazio
+	 * @see MotorChatbot#listar(String, String, int)
+	 */
+	private boolean listarConhecimento() {
+		// Verifica conhecimento vazio
+		if (motor.tamanho() == 0)
+			return false;
+		saida.printf("Chatbot: Eu possuo %d palavra(s)-chave(s) no meu conhecimento atualmente.%n",
+				motor.tamanho());
+		prefixoListagem = "";
+		cursorListagem = null;
+		numeroListagem = 1;
+		mostrarPagina();
+		return true;
+	}
+
+	/**
+	 * Mostra a próxima página da listagem e, se houver mais, pergunta como
+	 * continuar.
+	 */
+	private void mostrarPagina() {
+		PaginaConhecimento pagina = motor.listar(prefixoListagem, cursorListagem, TAMANHO_PAGINA);
+		// Lista conhecimento com quantidade de resposta
+		for (String chave : pagina.getPalavrasChave()) {
+			List<String> respostas = motor.respostas(chave);
+			if (respostas != null) {
+				saida.printf("%d. %s - (%d resposta(s)).%n", numeroListagem, chave, respostas.size());
+				numeroListagem++;
+			}
+		}
+		if (numeroListagem == 1 && !prefixoListagem.isEmpty()) {
+			saida.printf("Chatbot: Nenhuma palavra-chave começa com '%s'%n", prefixoListagem);
+		}
+		cursorListagem = pagina.getCursor();
+		if (cursorListagem != null) {
+			saida.print("Chatbot: [Enter] próxima página, início de uma palavra-chave para filtrar ou 0 para sair: ");
+			etapa = Etapa.LISTAR_PAGINA;
+		}
+	}
+
+	/**
+	 * Continua a listagem: próxima página, novo filtro ou fim.
+	 *
+	 * @param linha - linha digitada, sem espaços nas pontas
+	 */
+	private void continuarListagem(String linha) {
+		if (linha.equals("0")) {
+			return;
+		}
+		if (!linha.isEmpty()) {
+			prefixoListagem = motor.prefixoChave(messageManager.tratarMensagem(linha.toLowerCase()));
+			cursorListagem = null;
+			numeroListagem = 1;
+		}
+		mostrarPagina();
+	}
+
+	/**
+	 * Informa que a alteração foi recusada porque o chatbot está sendo
+	 * desligado.
+	 *
+	 * @return falso se o motor continua ativo e a falha tem outro motivo
+	 */
+	private boolean informarEncerrado() {
+		if (!motor.isEncerrado()) {
+			return false;
+		}
+		saida.println("Chatbot: Estou sendo desligado, a alteração não foi gravada!");
+		return true;
+	}
+
+	/**
+	 * Informa que a palavra-chave não existe e sugere as que começam pela sua
+	 * primeira palavra.
+	 *
+	 * @param chave - palavra-chave na forma guardada
+	 */
+	private void informarNaoEncontrada(String chave) {
+		saida.println("Chatbot: palavra-chave não encontrada");
+		int espaco = chave.indexOf(' ');
+		String prefixo = espaco > 0 ? chave.substring(0, espaco) : chave;
+		if (prefixo.isEmpty()) {
+			return;
+		}
+		List<String> sugestoes = motor.listar(prefixo, null, SUGESTOES).getPalavrasChave();
+		if (!sugestoes.isEmpty()) {
+			saida.printf("Chatbot: Palavras-chave parecidas: %s%n", String.join(", ", sugestoes));
+		}
+	}
+
+	/**
+	 * Lista as respostas da palavra-chave escolhida e pede o número de uma delas.
+	 *
+	 * @param chave    - palavra-chave digitada
+	 * @param pergunta - pedido do número da resposta
+	 * @param proxima  - etapa que receberá o número
+	 */
+	private void escolherPalavraChave(String chave, String pergunta, Etapa proxima) {
+		chave = motor.chave(chave);
+		List<String> respostas = motor.respostas(chave);
+		// Verifica palavra chave existente no conhecimento
+		if (respostas == null) {
+			informarNaoEncontrada(chave);
+			return;
+		}
+		palavraChave = chave;
+		int temp = 1; // Variável temporária
+		// Lista resposta do conhecimento
+		for (String lista : respostas) {
+			saida.println("\n" + temp + ". " + lista);
+			temp++;
+		}
+		saida.print(pergunta);
+		etapa = proxima;
+	}
+
+	/**
+	 * Obtém a resposta pelo número digitado.
+	 *
+	 * @return resposta escolhida ou null se o número for inválido
+	 * @throws NumberFormatException quando o usuário digita texto onde esperava
+	 *                               número
+	 */
+	private String obterResposta(String linha) {
+		int indexFrase = Integer.parseInt(linha.trim()) - 1;
+		List<String> respostas = motor.respostas(palavraChave);
+		// Verifica resposta válida
+		if (respostas == null || indexFrase < 0 || indexFrase > (respostas.size() - 1)) {
+			saida.println("Chatbot: Resposta não encontrada!");
+			return null;
+		}
+		return respostas.get(indexFrase);
+	}
+
+	/**
+	 * Edição do conhecimento do bot: resposta escolhida.
+	 */
+	private void escolherRespostaEdicao(String linha) {
+		try {
+			resposta = obterResposta(linha);
+		} catch (NumberFormatException e) { // Trata input de número com texto
+			saida.printf("Chatbot: Algo deu errado: %s.%nTente novamente!%n", e.getMessage());
+			return;
+		}
+		if (resposta != null) {
+			saida.printf("Chatbot: Resposta escolhida: %s", resposta);
+			saida.println("\nChatbot: Agora me diga a resposta editada: ");
+			etapa = Etapa.EDITAR_RESPOSTA;
+		}
+	}
+
+	/**
+	 * Edição do conhecimento do bot: nova resposta.
+	 *
+	 * @see MotorChatbot#editar(String, String, String)
+	 */
+	private void editarResposta(String respostaEditada) {
+		if (motor.editar(palavraChave, resposta, respostaEditada)) {
+			saida.println("Chatbot: Resposta editada com sucesso!");
+		} else if (!informarEncerrado()) {
+			saida.println("Chatbot: Resposta não encontrada!");
+		}
+	}
+
+	/**
+	 * Remoção do conhecimento: remover palavra-chave inteira ou apenas uma
+	 * resposta.
+	 */
+	private void decidirRemocao(String linha) {
+		int decisao;
+		try {
+			decisao = Integer.parseInt(linha.trim());
+		} catch (NumberFormatException e) { // Trata input de número com texto
+			saida.printf("Chatbot: Você digitou uma decisão incorreta e gerou o erro %s.%nTente novamente!%n",
+					e.getMessage());
+			return;
+		}
+		// Switch de decisão
+		switch (decisao) {
+		case 1: // Remove palavra chave do conhecimento
+			saida.print("Chatbot: Digite a palavra-chave: ");
+			etapa = Etapa.REMOVER_CHAVE;
+			break;
+		case 2: // Remove respostas do conhecimento
+			saida.print("Chatbot: Digite a palavra-chave: ");
+			etapa = Etapa.REMOVER_RESPOSTA_CHAVE;
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void confirmarRemocaoPalavraChave(String respostaTemp) {
+		// Decisão do usuário
+		Comando confirmacao = Comando.confirmacao(respostaTemp);
+		if (respostaTemp.isEmpty() || confirmacao == Comando.SIM) {
+			// Remove palavra chave do conhecimento
+			if (motor.removerPalavraChave(palavraChave)) {
+				saida.println("\nChatbot: Palavra-chave removida com sucesso!");
+			} else if (!informarEncerrado()) {
+				saida.println("Chatbot: palavra-chave não encontrada");
+			}
+		} else if (confirmacao == Comando.NAO) {
+			saida.println("\nChatbot: Nada foi removido! Retornando...");
+		} else {
+			saida.println("\nChatbot: Resposta inválida! Retornando...");
+		}
+	}
+
+	/**
+	 * Remoção de uma resposta específica.
+	 *
+	 * Se for a última resposta da palavra-chave, pede confirmação antes de
+	 * remover a palavra-chave junto.
+	 */
+	private void escolherRespostaRemocao(String linha) {
+		try {
+			resposta = obterResposta(linha);
+		} catch (NumberFormatException e) { // Trata input de número com texto
+			saida.printf("Chatbot: Você digitou uma decisão incorreta e gerou o erro %s.%nTente novamente!%n",
+					e.getMessage());
+			return;
+		}
+		if (resposta == null) {
+			return;
+		}
+
+		// Verifica se palavra-chave irá ficar vazia
+		List<String> respostas = motor.respostas(palavraChave);
+		if (respostas != null && respostas.size() == 1) {
+			saida.println("Chatbot: Ao remover essa resposta, você estará removendo "
+					+ "a palavra-chave do conhecimento" + "\nDeseja continuar? [S]im [N]ão");
+			etapa = Etapa.CONFIRMAR_REMOVER_ULTIMA;
+			return;
+		}
+
+		saida.printf("Chatbot: Resposta escolhida: %s", resposta);
+		if (motor.removerResposta(palavraChave, resposta)) {
+			saida.println("\nChatbot: Resposta removida com sucesso!");
+		} else if (!informarEncerrado()) {
+			saida.println("\nChatbot: Resposta não encontrada!");
+		}
+	}
+
+	private void confirmarRemocaoUltimaResposta(String respostaTemp) {
+		// Decisão do usuário
+		Comando confirmacao = Comando.confirmacao(respostaTemp);
+		if (respostaTemp.isEmpty() || confirmacao == Comando.SIM) {
+			// A palavra-chave sai do conhecimento junto da última resposta
+			if (motor.removerResposta(palavraChave, resposta)) {
+				saida.println("\nChatbot: Palavra-chave removida do conhecimento!");
+			} else if (!informarEncerrado()) {
+				saida.println("Chatbot: Resposta não encontrada!");
+			}
+		} else if (confirmacao == Comando.NAO) {
+			// Nada é removido ao recusar a confirmação
+			saida.println("\nChatbot: Nada foi removido! Retornando...");
+		} else {
+			saida.println("\nChatbot: Resposta inválida! Retornando...");
+		}
+	}
+}
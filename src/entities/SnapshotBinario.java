@@ -0,0 +1,271 @@
+package entities;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot binário do conhecimento.
+ *
+ * Formato compacto para acelerar a carga: as respostas ficam em uma tabela de
+ * strings sem repetição e cada palavra-chave referencia os índices das suas
+ * respostas. O arquivo é mapeado em memória e as respostas só são decodificadas
+ * quando usadas. O JSON continua sendo o formato de importação e exportação.
+ *
+ * Estrutura (inteiros big-endian):
+ *
+ * <pre>
+ * "CBKB" versão
+ * quantidadeRespostas { tamanho bytesUtf8 }...
+ * quantidadeChaves { tamanho bytesUtf8 quantidade indiceResposta... }...
+ * crc32 (long, sobre todo o conteúdo anterior)
+ * </pre>
+ */
+public class SnapshotBinario {
+	private static final int ASSINATURA = 0x43424B42; // "CBKB"
+	private static final int VERSAO = 1;
+
+	/**
+	 * Escreve o conhecimento no formato binário.
+	 *
+	 * @param conhecimento - conhecimento a ser gravado
+	 * @param destino      - saída do conteúdo
+	 * @throws IOException - Erro na escrita
+	 */
+	public static void escrever(Map<String, List<String>> conhecimento, OutputStream destino) throws IOException {
+		// Monta a tabela de respostas sem repetição
+		Map<String, Integer> indices = new HashMap<>();
+		List<String> respostas = new ArrayList<>();
+		for (List<String> lista : conhecimento.values()) {
+			for (String resposta : lista) {
+				if (!indices.containsKey(resposta)) {
+					indices.put(resposta, respostas.size());
+					respostas.add(resposta);
+				}
+			}
+		}
+
+		CRC32 crc = new CRC32();
+		DataOutputStream saida = new DataOutputStream(
+				new CheckedOutputStream(new BufferedOutputStream(destino, 64 * 1024), crc));
+		saida.writeInt(ASSINATURA);
+		saida.writeInt(VERSAO);
+
+		// Tabela de strings
+		saida.writeInt(respostas.size());
+		for (String resposta : respostas) {
+			escreverString(saida, resposta);
+		}
+
+		// Palavras-chave e índices das respostas
+		saida.writeInt(conhecimento.size());
+		for (Map.Entry<String, List<String>> entrada : conhecimento.entrySet()) {
+			escreverString(saida, entrada.getKey());
+			saida.writeInt(entrada.getValue().size());
+			for (String resposta : entrada.getValue()) {
+				saida.writeInt(indices.get(resposta));
+			}
+		}
+
+		// Checksum fora da soma
+		saida.flush();
+		new DataOutputStream(destino).writeLong(crc.getValue());
+	}
+
+	/**
+	 * Carrega o conhecimento de um snapshot binário.
+	 *
+	 * O arquivo é mapeado em memória e validado pelo checksum. As palavras-chave
+	 * são lidas na hora; as respostas, somente no primeiro acesso.
+	 *
+	 * @param arquivo - arquivo do snapshot
+	 * @return conhecimento carregado
+	 * @throws IOException - Erro na leitura ou arquivo inválido
+	 */
+	public static Map<String, List<String>> ler(File arquivo) throws IOException {
+		MappedByteBuffer dados;
+		try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+			if (canal.size() < 20 || canal.size() > Integer.MAX_VALUE) {
+				throw new IOException("Tamanho de snapshot inválido: " + canal.size());
+			}
+			dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+
+		// Valida checksum e cabeçalho
+		int fimConteudo = dados.limit() - 8;
+		CRC32 crc = new CRC32();
+		ByteBuffer conteudo = dados.duplicate();
+		conteudo.limit(fimConteudo);
+		crc.update(conteudo);
+		if (crc.getValue() != dados.getLong(fimConteudo)) {
+			throw new IOException("Checksum inválido no snapshot " + arquivo);
+		}
+		if (dados.getInt(0) != ASSINATURA || dados.getInt(4) != VERSAO) {
+			throw new IOException("Formato de snapshot desconhecido " + arquivo);
+		}
+
+		try {
+			ByteBuffer leitura = dados.duplicate();
+			leitura.position(8);
+
+			// Registra a posição de cada resposta, sem decodificar
+			int quantidadeRespostas = leitura.getInt();
+			TabelaStrings tabela = new TabelaStrings(dados, quantidadeRespostas);
+			for (int i = 0; i < quantidadeRespostas; i++) {
+				tabela.posicoes[i] = leitura.position();
+				leitura.position(leitura.position() + 4 + leitura.getInt(leitura.position()));
+			}
+
+			// Palavras-chave com referências às respostas
+			int quantidadeChaves = leitura.getInt();
+			Map<String, List<String>> conhecimento = new HashMap<>(quantidadeChaves * 4 / 3 + 1);
+			for (int i = 0; i < quantidadeChaves; i++) {
+				String chave = lerString(leitura);
+				int[] ids = new int[leitura.getInt()];
+				for (int j = 0; j < ids.length; j++) {
+					ids[j] = leitura.getInt();
+					if (ids[j] < 0 || ids[j] >= quantidadeRespostas) {
+						throw new IOException("Índice de resposta inválido no snapshot " + arquivo);
+					}
+				}
+				conhecimento.put(chave, new ListaRespostas(tabela, ids));
+			}
+			return conhecimento;
+		} catch (RuntimeException e) {
+			// Estrutura inconsistente com o tamanho do arquivo
+			throw new IOException("Snapshot corrompido " + arquivo, e);
+		}
+	}
+
+	private static void escreverString(DataOutputStream saida, String valor) throws IOException {
+		byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+		saida.writeInt(bytes.length);
+		saida.write(bytes);
+	}
+
+	private static String lerString(ByteBuffer leitura) {
+		byte[] bytes = new byte[leitura.getInt()];
+		leitura.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Tabela de respostas mapeada, decodificada sob demanda.
+	 *
+	 * @see TabelaRespostas
+	 */
+	static class TabelaStrings {
+		final ByteBuffer dados;
+		final int[] posicoes;
+		final String[] decodificadas;
+
+		TabelaStrings(ByteBuffer dados, int quantidade) {
+			this.dados = dados;
+			this.posicoes = new int[quantidade];
+			this.decodificadas = new String[quantidade];
+		}
+
+		int tamanho() {
+			return posicoes.length;
+		}
+
+		String obter(int id) {
+			String valor = decodificadas[id];
+			if (valor == null) {
+				ByteBuffer leitura = dados.duplicate();
+				leitura.position(posicoes[id]);
+				valor = lerString(leitura);
+				// Corrida benigna: threads concorrentes decodificam o mesmo valor
+				decodificadas[id] = valor;
+			}
+			return valor;
+		}
+	}
+
+	/**
+	 * Lista de respostas de uma palavra-chave.
+	 *
+	 * Lê as respostas da tabela mapeada até a primeira alteração, quando passa a
+	 * usar uma lista comum.
+	 */
+	static class ListaRespostas extends AbstractList<String> {
+		private final TabelaStrings tabela;
+		private final int[] ids;
+		private List<String> alterada;
+
+		ListaRespostas(TabelaStrings tabela, int[] ids) {
+			this.tabela = tabela;
+			this.ids = ids;
+		}
+
+		TabelaStrings getTabela() {
+			return tabela;
+		}
+
+		/**
+		 * @return índices das respostas na tabela, ou null depois da primeira
+		 *         alteração
+		 */
+		int[] getIds() {
+			return alterada == null ? ids : null;
+		}
+
+		@Override
+		public String get(int indice) {
+			if (alterada != null) {
+				return alterada.get(indice);
+			}
+			if (indice < 0 || indice >= ids.length) {
+				throw new IndexOutOfBoundsException("Índice: " + indice);
+			}
+			return tabela.obter(ids[indice]);
+		}
+
+		@Override
+		public int size() {
+			return alterada != null ? alterada.size() : ids.length;
+		}
+
+		@Override
+		public String set(int indice, String valor) {
+			return materializar().set(indice, valor);
+		}
+
+		@Override
+		public void add(int indice, String valor) {
+			materializar().add(indice, valor);
+			modCount++;
+		}
+
+		@Override
+		public String remove(int indice) {
+			modCount++;
+			return materializar().remove(indice);
+		}
+
+		private List<String> materializar() {
+			if (alterada == null) {
+				List<String> lista = new ArrayList<>(ids.length + 1);
+				for (int id : ids) {
+					lista.add(tabela.obter(id));
+				}
+				alterada = lista;
+			}
+			return alterada;
+		}
+	}
+}
@@ -0,0 +1,342 @@
+package entities;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carga preguiçosa do snapshot JSON.
+ *
+ * O arquivo é mapeado em memória e percorrido uma única vez byte a byte: só as
+ * palavras-chave são decodificadas, e de cada lista de respostas é guardada
+ * apenas a posição no arquivo. As respostas de uma palavra-chave são lidas na
+ * primeira vez em que são usadas e ficam em um cache LRU pequeno, de modo que o
+ * tempo de carga depende da quantidade de palavras-chave e não do tamanho das
+ * respostas.
+ *
+ * A varredura não precisa decodificar UTF-8: aspas, barras, colchetes e
+ * vírgulas nunca aparecem dentro de um caractere multibyte. Os escapes são
+ * validados na varredura e interpretados por {@link LeitorJson} na leitura.
+ *
+ * Ativada com {@code -Dchatbot.carga=preguicosa}; o cache é configurado por
+ * {@code -Dchatbot.carga.cache} (padrão: 1024 palavras-chave).
+ */
+public class SnapshotJsonPreguicoso {
+
+	private SnapshotJsonPreguicoso() {
+	}
+
+	/**
+	 * Indexa as palavras-chave do snapshot JSON.
+	 *
+	 * Palavras-chave sem respostas são ignoradas.
+	 *
+	 * @param arquivo      - snapshot JSON
+	 * @param tamanhoCache - quantidade de listas de respostas mantidas em memória
+	 * @return conhecimento com as respostas lidas sob demanda
+	 * @throws IOException - Erro na leitura ou formato inválido
+	 */
+	public static Map<String, List<String>> ler(File arquivo, int tamanhoCache) throws IOException {
+		MappedByteBuffer dados;
+		try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+			if (canal.size() > Integer.MAX_VALUE) {
+				throw new IOException("Tamanho de snapshot inválido: " + canal.size());
+			}
+			dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+		Fonte fonte = new Fonte(dados, tamanhoCache);
+		Varredura varredura = new Varredura(dados, arquivo);
+		Map<String, List<String>> conhecimento = new HashMap<>();
+		try {
+			// Documento vazio: conhecimento vazio, como na carga completa
+			if (varredura.fimDocumento()) {
+				return conhecimento;
+			}
+			varredura.esperar('{');
+			boolean primeiro = true;
+			while (!varredura.fechou('}')) {
+				if (!primeiro) {
+					varredura.esperar(',');
+				}
+				primeiro = false;
+				String chave = varredura.lerChave();
+				varredura.esperar(':');
+				int inicio = varredura.pularLista();
+				// Sem respostas a palavra-chave não existe, como na base em memória
+				if (varredura.getUltimaQuantidade() > 0) {
+					conhecimento.put(chave, new RespostasArquivo(fonte, inicio, varredura.getUltimaQuantidade()));
+				}
+			}
+			if (!varredura.fimDocumento()) {
+				throw varredura.erro("Conteúdo após o fim do documento");
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+		return conhecimento;
+	}
+
+	/**
+	 * Respostas de uma palavra-chave ainda no arquivo.
+	 *
+	 * Somente para leitura; cada acesso passa pelo cache da {@link Fonte}. Quem
+	 * usa todas as respostas de uma vez deve chamar {@link #carregar()}.
+	 */
+	static class RespostasArquivo extends AbstractList<String> {
+		private final Fonte fonte;
+		private final int inicio;
+		private final int quantidade;
+
+		RespostasArquivo(Fonte fonte, int inicio, int quantidade) {
+			this.fonte = fonte;
+			this.inicio = inicio;
+			this.quantidade = quantidade;
+		}
+
+		/**
+		 * @return respostas decodificadas, somente para leitura
+		 */
+		List<String> carregar() {
+			return fonte.respostas(inicio);
+		}
+
+		@Override
+		public String get(int indice) {
+			return carregar().get(indice);
+		}
+
+		@Override
+		public int size() {
+			return quantidade;
+		}
+	}
+
+	/**
+	 * Arquivo mapeado e cache LRU das listas já decodificadas.
+	 */
+	static class Fonte {
+		private final ByteBuffer dados;
+		private final Map<Integer, List<String>> cache;
+
+		Fonte(ByteBuffer dados, final int tamanhoCache) {
+			this.dados = dados;
+			this.cache = new LinkedHashMap<Integer, List<String>>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, List<String>> maisAntiga) {
+					return size() > tamanhoCache;
+				}
+			};
+		}
+
+		/**
+		 * Respostas da lista que começa na posição, lidas do arquivo se não
+		 * estiverem no cache.
+		 */
+		List<String> respostas(int inicio) {
+			synchronized (cache) {
+				List<String> respostas = cache.get(inicio);
+				if (respostas != null) {
+					return respostas;
+				}
+			}
+			// Decodifica fora da trava; leituras simultâneas da mesma lista só
+			// repetem o trabalho
+			List<String> respostas = decodificar(inicio);
+			synchronized (cache) {
+				cache.put(inicio, respostas);
+			}
+			return respostas;
+		}
+
+		private List<String> decodificar(int inicio) {
+			Varredura varredura = new Varredura(dados, null);
+			varredura.posicao = inicio;
+			varredura.pularLista();
+			byte[] bytes = new byte[varredura.posicao - inicio];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = dados.get(inicio + i);
+			}
+			String lista = new String(bytes, StandardCharsets.UTF_8);
+			try (LeitorJson leitor = new LeitorJson(new StringReader(lista), Math.max(16, lista.length()))) {
+				List<String> respostas = new ArrayList<>();
+				leitor.iniciarLista();
+				while (leitor.temProximo()) {
+					respostas.add(leitor.lerString());
+				}
+				return Collections.unmodifiableList(respostas);
+			} catch (IOException e) {
+				// A varredura já validou a lista
+				throw new IllegalStateException("Lista de respostas inválida na posição " + inicio, e);
+			}
+		}
+	}
+
+	/**
+	 * Percorre o JSON mapeado sem decodificar as strings.
+	 */
+	private static class Varredura {
+		private final ByteBuffer dados;
+		private final File arquivo;
+		private int posicao = 0;
+		private int ultimaQuantidade;
+
+		Varredura(ByteBuffer dados, File arquivo) {
+			this.dados = dados;
+			this.arquivo = arquivo;
+		}
+
+		int getUltimaQuantidade() {
+			return ultimaQuantidade;
+		}
+
+		boolean fimDocumento() {
+			pularEspacos();
+			return posicao >= dados.limit();
+		}
+
+		void esperar(char esperado) {
+			pularEspacos();
+			consumir(esperado);
+		}
+
+		/**
+		 * Consome o fechamento, se for o próximo caractere.
+		 */
+		boolean fechou(char fechamento) {
+			pularEspacos();
+			if (posicao < dados.limit() && dados.get(posicao) == fechamento) {
+				posicao++;
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Lê o nome de um campo, decodificando os escapes só quando existem.
+		 */
+		String lerChave() throws IOException {
+			pularEspacos();
+			int inicio = posicao;
+			boolean escapes = pularString();
+			if (!escapes) {
+				byte[] bytes = new byte[posicao - inicio - 2];
+				for (int i = 0; i < bytes.length; i++) {
+					bytes[i] = dados.get(inicio + 1 + i);
+				}
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+			byte[] bytes = new byte[posicao - inicio];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = dados.get(inicio + i);
+			}
+			String texto = new String(bytes, StandardCharsets.UTF_8);
+			try (LeitorJson leitor = new LeitorJson(new StringReader(texto), Math.max(16, texto.length()))) {
+				return leitor.lerString();
+			}
+		}
+
+		/**
+		 * Pula uma lista de strings, contando os itens.
+		 *
+		 * @return posição do colchete de abertura
+		 */
+		int pularLista() {
+			pularEspacos();
+			int inicio = posicao;
+			if (posicao >= dados.limit() || dados.get(posicao) != '[') {
+				throw erro("Esperado '['");
+			}
+			posicao++;
+			ultimaQuantidade = 0;
+			if (fechou(']')) {
+				return inicio;
+			}
+			do {
+				pularEspacos();
+				pularString();
+				ultimaQuantidade++;
+				pularEspacos();
+			} while (!fechou(']') && consumir(','));
+			return inicio;
+		}
+
+		private boolean consumir(char esperado) {
+			if (posicao < dados.limit() && dados.get(posicao) == esperado) {
+				posicao++;
+				return true;
+			}
+			throw erro("Esperado '" + esperado + "'");
+		}
+
+		/**
+		 * Pula uma string validando os escapes.
+		 *
+		 * @return verdadeiro se a string tem escapes
+		 */
+		private boolean pularString() {
+			if (posicao >= dados.limit() || dados.get(posicao) != '"') {
+				throw erro("Esperado '\"'");
+			}
+			posicao++;
+			boolean escapes = false;
+			while (posicao < dados.limit()) {
+				byte b = dados.get(posicao++);
+				if (b == '"') {
+					return escapes;
+				}
+				if (b == '\\') {
+					escapes = true;
+					pularEscape();
+				} else if (b >= 0 && b < 0x20) {
+					throw erro("Caractere de controle em string");
+				}
+			}
+			throw erro("String não terminada");
+		}
+
+		private void pularEscape() {
+			if (posicao >= dados.limit()) {
+				throw erro("Escape incompleto");
+			}
+			byte b = dados.get(posicao++);
+			if (b == 'u') {
+				for (int i = 0; i < 4; i++) {
+					if (posicao >= dados.limit() || Character.digit(dados.get(posicao++), 16) < 0) {
+						throw erro("Escape unicode inválido");
+					}
+				}
+			} else if ("\"\\/bfnrt".indexOf(b) < 0) {
+				throw erro("Escape inválido");
+			}
+		}
+
+		private void pularEspacos() {
+			while (posicao < dados.limit()) {
+				byte b = dados.get(posicao);
+				if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+					return;
+				}
+				posicao++;
+			}
+		}
+
+		IllegalArgumentException erro(String mensagem) {
+			return new IllegalArgumentException(
+					mensagem + " na posição " + posicao + (arquivo != null ? " de " + arquivo : ""));
+		}
+	}
+}
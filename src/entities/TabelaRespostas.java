@@ -0,0 +1,224 @@
+package entities;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tabela canônica das respostas do conhecimento.
+ *
+ * Cada texto de resposta é guardado uma única vez e recebe um identificador
+ * inteiro; as palavras-chave guardam apenas vetores de identificadores. Uma
+ * resposta repetida em várias palavras-chave, ou lida várias vezes do arquivo,
+ * ocupa o heap uma única vez.
+ *
+ * A busca do identificador de um texto usa uma tabela hash de endereçamento
+ * aberto sobre os próprios identificadores, sem objetos por resposta. O uso de
+ * cada resposta é contado e o identificador é reaproveitado quando nenhuma
+ * palavra-chave a usa mais. Cadastrar e liberar são sincronizados; ler o texto
+ * de um identificador não usa travas.
+ *
+ * Criada sobre um {@link SnapshotBinario}, a tabela adota os índices das
+ * respostas do snapshot (já sem repetição) e só as decodifica quando lidas.
+ * Essas respostas não entram na busca por texto, o que exigiria decodificar
+ * todas: uma resposta igual ensinada depois recebe outro identificador até a
+ * próxima compactação.
+ */
+class TabelaRespostas {
+	private static final int VAZIO = -1;
+
+	// Respostas do snapshot, nos identificadores de 0 a tamanhoFonte - 1
+	private final SnapshotBinario.TabelaStrings fonte;
+	private final int tamanhoFonte;
+
+	// Identificadores por hash do texto (apenas os cadastrados por texto)
+	private int[] slots;
+	private int indexadas = 0;
+	// Lida sem travas; trocada por uma cópia maior quando enche. Vazia nas
+	// respostas do snapshot ainda não reaproveitadas
+	private volatile AtomicReferenceArray<String> textos;
+	private int[] usos;
+	private int[] livres = new int[16];
+	private int quantidadeLivres = 0;
+	private int proximo;
+	private int distintas = 0;
+	private long referencias = 0;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param fonte      - tabela de respostas do snapshot, ou null
+	 * @param capacidade - quantidade esperada de respostas cadastradas por texto
+	 */
+	TabelaRespostas(SnapshotBinario.TabelaStrings fonte, int capacidade) {
+		this.fonte = fonte;
+		tamanhoFonte = fonte != null ? fonte.tamanho() : 0;
+		proximo = tamanhoFonte;
+		int tamanho = Math.max(16, tamanhoFonte + capacidade);
+		textos = new AtomicReferenceArray<>(tamanho);
+		usos = new int[tamanho];
+		int tamanhoSlots = 32;
+		while (capacidade * 4 > tamanhoSlots * 3) {
+			tamanhoSlots *= 2;
+		}
+		slots = new int[tamanhoSlots];
+		Arrays.fill(slots, VAZIO);
+	}
+
+	/**
+	 * @return tabela do snapshot adotada, ou null
+	 */
+	SnapshotBinario.TabelaStrings getFonte() {
+		return fonte;
+	}
+
+	/**
+	 * Conta mais um uso de uma resposta do snapshot.
+	 *
+	 * @param id - índice da resposta no snapshot
+	 */
+	synchronized void usar(int id) {
+		referencias++;
+		if (usos[id]++ == 0) {
+			distintas++;
+		}
+	}
+
+	/**
+	 * Obtém o identificador de uma resposta, cadastrando-a se necessário, e
+	 * conta mais um uso.
+	 *
+	 * @param texto - resposta normalizada
+	 * @return identificador da resposta
+	 */
+	synchronized int obter(String texto) {
+		referencias++;
+		int slot = slot(texto);
+		int id = slots[slot];
+		if (id != VAZIO) {
+			usos[id]++;
+			return id;
+		}
+		int novo = quantidadeLivres > 0 ? livres[--quantidadeLivres] : proximo++;
+		if (novo == usos.length) {
+			int tamanho = novo + (novo >> 1);
+			usos = Arrays.copyOf(usos, tamanho);
+			AtomicReferenceArray<String> maior = new AtomicReferenceArray<>(tamanho);
+			for (int i = 0; i < novo; i++) {
+				maior.set(i, textos.get(i));
+			}
+			textos = maior;
+		}
+		textos.set(novo, texto);
+		usos[novo] = 1;
+		distintas++;
+		slots[slot] = novo;
+		// Mantém a ocupação abaixo de 75%
+		if (++indexadas * 4 > slots.length * 3) {
+			redimensionar();
+		}
+		return novo;
+	}
+
+	/**
+	 * Conta um uso a menos da resposta, liberando o identificador no último.
+	 *
+	 * @param id - identificador obtido em {@link #obter(String)} ou
+	 *           {@link #usar(int)}
+	 */
+	synchronized void liberar(int id) {
+		referencias--;
+		if (--usos[id] > 0) {
+			return;
+		}
+		distintas--;
+		String texto = textos.get(id);
+		// Respostas do snapshot não estão na busca por texto
+		if (texto != null) {
+			remover(slot(texto));
+			indexadas--;
+			textos.set(id, null);
+		}
+		if (quantidadeLivres == livres.length) {
+			livres = Arrays.copyOf(livres, quantidadeLivres * 2);
+		}
+		livres[quantidadeLivres++] = id;
+	}
+
+	/**
+	 * Texto de uma resposta.
+	 *
+	 * Quem leu o identificador antes de uma remoção concorrente pode receber
+	 * null ou o texto de outra resposta que reaproveitou o identificador; deve
+	 * conferir se o identificador ainda estava em uso depois da leitura.
+	 *
+	 * @param id - identificador da resposta
+	 * @return texto da resposta
+	 */
+	String texto(int id) {
+		String texto = textos.get(id);
+		if (texto == null && id < tamanhoFonte) {
+			texto = fonte.obter(id);
+		}
+		return texto;
+	}
+
+	/**
+	 * @return quantidade de respostas distintas em uso
+	 */
+	synchronized int distintas() {
+		return distintas;
+	}
+
+	/**
+	 * @return quantidade de usos das respostas por todas as palavras-chave
+	 */
+	synchronized long referencias() {
+		return referencias;
+	}
+
+	/**
+	 * Posição do texto na tabela, ou a posição vazia onde ele entraria.
+	 */
+	private int slot(String texto) {
+		int mascara = slots.length - 1;
+		for (int i = espalhar(texto.hashCode()) & mascara;; i = (i + 1) & mascara) {
+			int id = slots[i];
+			if (id == VAZIO || textos.get(id).equals(texto)) {
+				return i;
+			}
+		}
+	}
+
+	/**
+	 * Esvazia a posição e puxa para trás os identificadores seguintes que
+	 * ficariam inalcançáveis, sem marcas de removido.
+	 */
+	private void remover(int vazio) {
+		int mascara = slots.length - 1;
+		slots[vazio] = VAZIO;
+		for (int i = (vazio + 1) & mascara; slots[i] != VAZIO; i = (i + 1) & mascara) {
+			int desejado = espalhar(textos.get(slots[i]).hashCode()) & mascara;
+			// Move se a posição desejada não está entre o vazio e a atual
+			if (((i - desejado) & mascara) >= ((i - vazio) & mascara)) {
+				slots[vazio] = slots[i];
+				slots[i] = VAZIO;
+				vazio = i;
+			}
+		}
+	}
+
+	private void redimensionar() {
+		int[] antigos = slots;
+		slots = new int[antigos.length * 2];
+		Arrays.fill(slots, VAZIO);
+		for (int id : antigos) {
+			if (id != VAZIO) {
+				slots[slot(textos.get(id))] = id;
+			}
+		}
+	}
+
+	private static int espalhar(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
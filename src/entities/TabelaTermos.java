@@ -0,0 +1,142 @@
+package entities;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de termos com identificadores inteiros.
+ *
+ * Tabela hash de endereçamento aberto que aceita buscas por um trecho de texto,
+ * permitindo consultar as palavras emitidas pelo {@link Tokenizador} sem criar
+ * Strings.
+ */
+class TabelaTermos {
+	private static final int VAZIO = -1;
+
+	private int[] slots = new int[32];
+	private int[] hashes = new int[16];
+	private String[] termos = new String[16];
+	private int tamanho = 0;
+
+	TabelaTermos() {
+		Arrays.fill(slots, VAZIO);
+	}
+
+	/**
+	 * Busca o identificador de um trecho de texto.
+	 *
+	 * @param texto  - texto de origem
+	 * @param inicio - posição inicial do termo
+	 * @param fim    - posição seguinte ao final do termo
+	 * @return identificador do termo ou -1 se desconhecido
+	 */
+	int buscar(CharSequence texto, int inicio, int fim) {
+		int hash = hash(texto, inicio, fim);
+		int mascara = slots.length - 1;
+		for (int i = espalhar(hash) & mascara;; i = (i + 1) & mascara) {
+			int id = slots[i];
+			if (id == VAZIO) {
+				return VAZIO;
+			}
+			if (hashes[id] == hash && iguais(termos[id], texto, inicio, fim)) {
+				return id;
+			}
+		}
+	}
+
+	/**
+	 * Busca o identificador de um termo.
+	 *
+	 * @param termo - termo procurado
+	 * @return identificador do termo ou -1 se desconhecido
+	 */
+	int buscar(String termo) {
+		return buscar(termo, 0, termo.length());
+	}
+
+	/**
+	 * Obtém o identificador de um termo, cadastrando-o se necessário.
+	 *
+	 * @param termo - termo procurado
+	 * @return identificador do termo
+	 */
+	int obter(String termo) {
+		int id = buscar(termo);
+		if (id != VAZIO) {
+			return id;
+		}
+
+		// Mantém a ocupação abaixo de 50%
+		if ((tamanho + 1) * 2 > slots.length) {
+			redimensionar();
+		}
+		if (tamanho == termos.length) {
+			termos = Arrays.copyOf(termos, tamanho * 2);
+			hashes = Arrays.copyOf(hashes, tamanho * 2);
+		}
+
+		id = tamanho++;
+		termos[id] = termo;
+		hashes[id] = termo.hashCode();
+		inserirSlot(id);
+		return id;
+	}
+
+	/**
+	 * @param id - identificador do termo
+	 * @return termo correspondente
+	 */
+	String termo(int id) {
+		return termos[id];
+	}
+
+	/**
+	 * @return quantidade de termos cadastrados
+	 */
+	int tamanho() {
+		return tamanho;
+	}
+
+	private void redimensionar() {
+		slots = new int[slots.length * 2];
+		Arrays.fill(slots, VAZIO);
+		for (int id = 0; id < tamanho; id++) {
+			inserirSlot(id);
+		}
+	}
+
+	private void inserirSlot(int id) {
+		int mascara = slots.length - 1;
+		int i = espalhar(hashes[id]) & mascara;
+		while (slots[i] != VAZIO) {
+			i = (i + 1) & mascara;
+		}
+		slots[i] = id;
+	}
+
+	/**
+	 * Mesmo cálculo de String#hashCode aplicado a um trecho.
+	 */
+	private static int hash(CharSequence texto, int inicio, int fim) {
+		int hash = 0;
+		for (int i = inicio; i < fim; i++) {
+			hash = 31 * hash + texto.charAt(i);
+		}
+		return hash;
+	}
+
+	private static int espalhar(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean iguais(String termo, CharSequence texto, int inicio, int fim) {
+		if (termo.length() != fim - inicio) {
+			return false;
+		}
+		for (int i = 0; i < termo.length(); i++) {
+			if (termo.charAt(i) != texto.charAt(inicio + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
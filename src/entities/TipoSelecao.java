@@ -0,0 +1,79 @@
+package entities;
+
+import java.util.Locale;
+
+/**
+ * Estratégias de escolha das respostas disponíveis na configuração.
+ *
+ * Configurada por {@code -Dchatbot.selecao} e, no modo com semente, por
+ * {@code -Dchatbot.selecao.semente}.
+ */
+public enum TipoSelecao {
+	/**
+	 * Sorteio com o gerador de cada thread.
+	 */
+	ALEATORIA,
+
+	/**
+	 * Sorteio reproduzível a partir de uma semente.
+	 */
+	SEMEADA,
+
+	/**
+	 * Rodízio das respostas de cada palavra-chave.
+	 */
+	RODIZIO,
+
+	/**
+	 * Resposta usada há mais tempo em cada palavra-chave.
+	 */
+	MENOS_RECENTE;
+
+	/**
+	 * Cria uma estratégia para uma sessão.
+	 *
+	 * @param semente - semente usada no modo {@link #SEMEADA}
+	 * @return estratégia nova (ou compartilhável, no modo {@link #ALEATORIA})
+	 */
+	public EstrategiaSelecao criar(long semente) {
+		switch (this) {
+		case SEMEADA:
+			return new SelecaoSemeada(semente);
+		case RODIZIO:
+			return new SelecaoRodizio(SelecaoAleatoria.INSTANCIA);
+		case MENOS_RECENTE:
+			return new SelecaoMenosRecente(SelecaoAleatoria.INSTANCIA);
+		default:
+			return SelecaoAleatoria.INSTANCIA;
+		}
+	}
+
+	/**
+	 * Cria a estratégia configurada para uma nova sessão.
+	 *
+	 * @return estratégia da sessão
+	 */
+	public static EstrategiaSelecao configurada() {
+		return porNome(System.getProperty("chatbot.selecao"), ALEATORIA)
+				.criar(Long.getLong("chatbot.selecao.semente", 0));
+	}
+
+	/**
+	 * Converte o nome configurado em uma estratégia.
+	 *
+	 * @param nome   - nome da estratégia (sem diferenciar maiúsculas)
+	 * @param padrao - estratégia usada para nomes vazios ou inválidos
+	 * @return estratégia correspondente
+	 */
+	public static TipoSelecao porNome(String nome, TipoSelecao padrao) {
+		if (nome == null || nome.trim().isEmpty()) {
+			return padrao;
+		}
+		try {
+			return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			System.out.printf("Chatbot: Estratégia de seleção inválida '%s', usando %s%n", nome, padrao);
+			return padrao;
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package entities;
+
+import java.util.Arrays;
+
+/**
+ * Tokenizador de mensagens normalizadas.
+ *
+ * Percorre a mensagem uma única vez, pulando sequências de espaços e tabulações
+ * e descartando stop words. Cada palavra é exposta como um trecho (início e fim)
+ * da própria mensagem, sem criar novas Strings.
+ *
+ * Uso típico:
+ *
+ * <pre>
+ * Tokenizador tokens = new Tokenizador(mensagem);
+ * while (tokens.proximo()) {
+ * 	tabela.buscar(mensagem, tokens.inicio(), tokens.fim());
+ * }
+ * </pre>
+ *
+ * @see MessageManager#extrairPalavras(String)
+ */
+public class Tokenizador {
+	// Lista de palavras genericas, ordenada para busca binária
+	private static final String[] STOP_WORDS = criarStopWords();
+	private static final int MAIOR_STOP_WORD = maiorTamanho(STOP_WORDS);
+
+	private CharSequence texto;
+	private int posicao;
+	private int inicio;
+	private int fim;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param texto - mensagem normalizada
+	 */
+	public Tokenizador(CharSequence texto) {
+		reiniciar(texto);
+	}
+
+	/**
+	 * Reaproveita o tokenizador para uma nova mensagem.
+	 *
+	 * @param texto - mensagem normalizada
+	 * @return o próprio tokenizador
+	 */
+	public Tokenizador reiniciar(CharSequence texto) {
+		this.texto = texto;
+		posicao = 0;
+		inicio = 0;
+		fim = 0;
+		return this;
+	}
+
+	/**
+	 * Avança para a próxima palavra relevante.
+	 *
+	 * @return falso quando a mensagem terminou
+	 */
+	public boolean proximo() {
+		int tamanho = texto.length();
+		while (posicao < tamanho) {
+			// Pula espaços em sequência
+			while (posicao < tamanho && Character.isWhitespace(texto.charAt(posicao))) {
+				posicao++;
+			}
+			if (posicao == tamanho) {
+				break;
+			}
+
+			// Delimita a palavra
+			int inicioPalavra = posicao;
+			while (posicao < tamanho && !Character.isWhitespace(texto.charAt(posicao))) {
+				posicao++;
+			}
+
+			// Descarta stop words
+			if (!ehStopWord(texto, inicioPalavra, posicao)) {
+				inicio = inicioPalavra;
+				fim = posicao;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return posição inicial da palavra atual
+	 */
+	public int inicio() {
+		return inicio;
+	}
+
+	/**
+	 * @return posição seguinte ao final da palavra atual
+	 */
+	public int fim() {
+		return fim;
+	}
+
+	/**
+	 * @return mensagem sendo percorrida
+	 */
+	public CharSequence texto() {
+		return texto;
+	}
+
+	/**
+	 * Cria uma String com a palavra atual.
+	 *
+	 * @return palavra atual
+	 */
+	public String palavra() {
+		return texto.subSequence(inicio, fim).toString();
+	}
+
+	/**
+	 * Verifica se o trecho do texto é uma stop word.
+	 *
+	 * @param texto  - texto de origem
+	 * @param inicio - posição inicial do trecho
+	 * @param fim    - posição seguinte ao final do trecho
+	 * @return verdadeiro quando o trecho é uma stop word
+	 */
+	public static boolean ehStopWord(CharSequence texto, int inicio, int fim) {
+		// Palavras longas nunca são stop words
+		if (fim - inicio > MAIOR_STOP_WORD) {
+			return false;
+		}
+
+		int baixo = 0;
+		int alto = STOP_WORDS.length - 1;
+		while (baixo <= alto) {
+			int meio = (baixo + alto) >>> 1;
+			int comparacao = comparar(STOP_WORDS[meio], texto, inicio, fim);
+			if (comparacao < 0) {
+				baixo = meio + 1;
+			} else if (comparacao > 0) {
+				alto = meio - 1;
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Compara uma palavra com um trecho do texto na ordem de String#compareTo.
+	 */
+	private static int comparar(String palavra, CharSequence texto, int inicio, int fim) {
+		int tamanho = fim - inicio;
+		int limite = Math.min(palavra.length(), tamanho);
+		for (int i = 0; i < limite; i++) {
+			int diferenca = palavra.charAt(i) - texto.charAt(inicio + i);
+			if (diferenca != 0) {
+				return diferenca;
+			}
+		}
+		return palavra.length() - tamanho;
+	}
+
+	private static String[] criarStopWords() {
+		String[] palavras = { "o", "a", "os", "as", "de", "da", "do", "para", "com", "em", "por", "que", "um",
+				"uma", "é", "foi", "ser", "ter", "como", "mais", "muito", "bem", "já", "ainda", "mas", "ou", "se",
+				"me", "te", "nos", "lhe" };
+		Arrays.sort(palavras);
+		return palavras;
+	}
+
+	private static int maiorTamanho(String[] palavras) {
+		int maior = 0;
+		for (String palavra : palavras) {
+			maior = Math.max(maior, palavra.length());
+		}
+		return maior;
+	}
+}